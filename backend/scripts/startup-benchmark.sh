@@ -0,0 +1,48 @@
+#!/usr/bin/env bash
+# Cold-start benchmark for the fast-start build profile.
+#
+#   mvn -Pfast-start package -DskipTests
+#   scripts/startup-benchmark.sh [runs]
+#
+# Compares the plain fat jar with the extracted AOT + CDS jar. Each run refreshes
+# the context and exits (spring.context.exit=onRefresh) under the cds-training
+# profile, so no database is needed; pass SPRING_PROFILES_ACTIVE to time against
+# a real one.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS="${1:-5}"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+JAR="$(ls target/bridgeQuality-*.jar | grep -v '\.original$' | head -n 1)"
+FAST_DIR="target/fast-start"
+PROFILE="${SPRING_PROFILES_ACTIVE:-cds-training}"
+
+if [[ ! -f "$FAST_DIR/application.jsa" ]]; then
+    echo "No CDS archive in $FAST_DIR, build with: mvn -Pfast-start package -DskipTests" >&2
+    exit 1
+fi
+
+# measure <label> <jar> [jvm options...]
+measure() {
+    local label="$1" jar="$2"
+    shift 2
+    local total=0
+    for ((i = 1; i <= RUNS; i++)); do
+        local start end elapsed
+        start=$(date +%s%N)
+        "$JAVA" "$@" -Dspring.context.exit=onRefresh -Dspring.profiles.active="$PROFILE" \
+            -Dlogging.level.root=warn -jar "$jar" >/dev/null
+        end=$(date +%s%N)
+        elapsed=$(((end - start) / 1000000))
+        total=$((total + elapsed))
+    done
+    printf '%-22s %6d ms (avg of %d)\n' "$label" $((total / RUNS)) "$RUNS"
+}
+
+FAST_JAR="$FAST_DIR/$(basename "$JAR")"
+
+measure "fat jar" "$JAR"
+measure "extracted + AOT" "$FAST_JAR" -Dspring.aot.enabled=true
+measure "extracted + AOT + CDS" "$FAST_JAR" -Dspring.aot.enabled=true \
+    -XX:SharedArchiveFile="$FAST_DIR/application.jsa" -Xlog:cds=error
@@ -2,18 +2,25 @@ package com.app.bridgeQuality;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.app.bridgeQuality.config.NativeRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class BridgeGuardApplication {
 
 	public static void main(String[] args) {
-        io.github.cdimascio.dotenv.Dotenv dotenv = io.github.cdimascio.dotenv.Dotenv.configure()
-                .directory("backend")
-                .ignoreIfMissing()
-                .load();
-        dotenv.entries().forEach(entry ->
-                System.setProperty(entry.getKey(), entry.getValue())
-        );
+        // deployed replicas get their settings from the environment; only read .env for local runs
+        if (System.getenv("DB_URL") == null) {
+            io.github.cdimascio.dotenv.Dotenv dotenv = io.github.cdimascio.dotenv.Dotenv.configure()
+                    .directory("backend")
+                    .ignoreIfMissing()
+                    .load();
+            dotenv.entries().forEach(entry ->
+                    System.setProperty(entry.getKey(), entry.getValue())
+            );
+        }
         SpringApplication.run(BridgeGuardApplication.class, args);
 	}
 
@@ -0,0 +1,51 @@
+package com.app.bridgeQuality.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.stream.Stream;
+
+/**
+ * Reflection and resource hints for the native image. Hibernate Spatial wires
+ * itself in through ServiceLoader and instantiates JTS geometries reflectively,
+ * neither of which the AOT engine can discover on its own.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String[] SPATIAL_SERVICES = {
+            "org.hibernate.spatial.contributor.SpatialFunctionContributor",
+            "org.hibernate.spatial.contributor.SpatialTypeContributor",
+            "org.hibernate.spatial.criteria.internal.GeolatteSpatialCriteriaExtension",
+            "org.hibernate.spatial.criteria.internal.JTSSpatialCriteriaExtension",
+            "org.hibernate.spatial.integration.SpatialInitializer"
+    };
+
+    private static final String[] JTS_TYPES = {
+            "org.locationtech.jts.geom.Geometry",
+            "org.locationtech.jts.geom.Point",
+            "org.locationtech.jts.geom.LineString",
+            "org.locationtech.jts.geom.Polygon",
+            "org.locationtech.jts.geom.MultiPoint",
+            "org.locationtech.jts.geom.MultiLineString",
+            "org.locationtech.jts.geom.MultiPolygon",
+            "org.locationtech.jts.geom.GeometryCollection",
+            "org.locationtech.jts.geom.GeometryFactory",
+            "org.locationtech.jts.geom.PrecisionModel",
+            "org.locationtech.jts.geom.Coordinate",
+            "org.locationtech.jts.geom.impl.CoordinateArraySequenceFactory"
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources().registerPattern("META-INF/services/org.hibernate.*");
+
+        Stream.of(SPATIAL_SERVICES, JTS_TYPES)
+                .flatMap(Stream::of)
+                .forEach(type -> hints.reflection().registerType(TypeReference.of(type),
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS,
+                        MemberCategory.ACCESS_DECLARED_FIELDS));
+    }
+}
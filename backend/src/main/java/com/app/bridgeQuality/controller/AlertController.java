@@ -0,0 +1,51 @@
+package com.app.bridgeQuality.controller;
+
+import com.app.bridgeQuality.dto.AlertRuleDTO;
+import com.app.bridgeQuality.event.BridgeAlertEvent;
+import com.app.bridgeQuality.service.AlertRuleEngine;
+import com.app.bridgeQuality.service.AlertService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/alert")
+@RequiredArgsConstructor
+public class AlertController {
+    private final AlertService alertService;
+    private final AlertRuleEngine alertRuleEngine;
+
+    @GetMapping("/rules")
+    public List<AlertRuleDTO> getRules() {
+        return alertService.findAllRules();
+    }
+
+    // rules take effect immediately on this node, other nodes pick them up on their next poll
+    @PostMapping("/rules")
+    public ResponseEntity<?> createRule(@RequestBody AlertRuleDTO rule) {
+        try {
+            AlertRuleDTO created = alertService.createRule(rule);
+            alertRuleEngine.reload();
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/rules/{id}")
+    public ResponseEntity<?> deleteRule(@PathVariable long id) {
+        if (!alertService.deleteRule(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        alertRuleEngine.reload();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/recent")
+    public List<BridgeAlertEvent> getRecentAlerts() {
+        return alertService.recentAlerts();
+    }
+}
@@ -2,8 +2,12 @@ package com.app.bridgeQuality.controller;
 
 import com.app.bridgeQuality.dto.BridgeCreateRequest;
 import com.app.bridgeQuality.dto.BridgeResponse;
+import com.app.bridgeQuality.dto.CorrelatedBridgeResponse;
+import com.app.bridgeQuality.dto.FleetSummaryResponse;
 import com.app.bridgeQuality.repository.BridgeRepository;
 import com.app.bridgeQuality.service.BridgeService;
+import com.app.bridgeQuality.service.CorrelationService;
+import com.app.bridgeQuality.service.FleetSummaryService;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.http.HttpStatus;
@@ -19,6 +23,8 @@ public class BridgeController {
 
     public final BridgeRepository bridgeRepository;
     public final BridgeService bridgeService;
+    public final FleetSummaryService fleetSummaryService;
+    public final CorrelationService correlationService;
 
     @GetMapping
     public List<BridgeResponse> bridgeList() {
@@ -28,6 +34,11 @@ public class BridgeController {
                 .toList();
     }
 
+    @GetMapping("/summary")
+    public FleetSummaryResponse fleetSummary(@RequestParam(defaultValue = "5") int worst) {
+        return fleetSummaryService.summary(Math.max(0, worst));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<@NotNull BridgeResponse> getBridge(@PathVariable String id) {
         return bridgeRepository.findById(id)
@@ -36,6 +47,17 @@ public class BridgeController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/correlated")
+    public ResponseEntity<?> correlatedBridges(@PathVariable String id,
+                                               @RequestParam(required = false) Double radiusKm) {
+        double radius = radiusKm == null ? correlationService.defaultRadiusKm() : radiusKm;
+        if (radius <= 0) {
+            return ResponseEntity.badRequest().body("radiusKm must be positive");
+        }
+        List<CorrelatedBridgeResponse> correlated = correlationService.correlated(id, radius);
+        return correlated == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(correlated);
+    }
+
     @PostMapping("/addNew")
     public ResponseEntity<?> uploadBridge(@RequestBody BridgeCreateRequest request) {
         bridgeService.createBridge(request);
@@ -1,14 +1,25 @@
 package com.app.bridgeQuality.controller;
 
+import com.app.bridgeQuality.dto.BatchIngestResponseDTO;
 import com.app.bridgeQuality.dto.BridgeHealthLogRequestDTO;
 import com.app.bridgeQuality.dto.BridgeHealthLogResponseDTO;
 import com.app.bridgeQuality.dto.MlLogResponse;
 import com.app.bridgeQuality.dto.SensorLogResponse;
+import com.app.bridgeQuality.service.BridgeHealthBatchService;
 import com.app.bridgeQuality.service.BridgeHealthService;
+import com.app.bridgeQuality.service.ClusterService;
+import com.app.bridgeQuality.service.IngestInFlightException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.client.HttpStatusCodeException;
+import tools.jackson.core.JacksonException;
 
+import java.io.InputStream;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,16 +29,64 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class HealthLogController {
     private final BridgeHealthService bridgeHealthService;
+    private final BridgeHealthBatchService bridgeHealthBatchService;
+    private final ClusterService clusterService;
 
     @PostMapping("/ingest")
     public ResponseEntity<?> ingestSensorData(
-            @RequestBody BridgeHealthLogRequestDTO inputDTO
+            @RequestBody BridgeHealthLogRequestDTO inputDTO,
+            @RequestHeader(value = ClusterService.FORWARDED_HEADER, required = false) String forwardedBy,
+            @RequestHeader(value = ClusterService.RECORDED_AT_HEADER, required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime recordedAt
     ) {
         if (inputDTO.getBridgeId() == null) {
             return ResponseEntity.badRequest().body("bridgeId must not be null");
         }
-        BridgeHealthLogResponseDTO response = bridgeHealthService.processSensorData(inputDTO);
-        return ResponseEntity.ok(response);
+        try {
+            if (forwardedBy == null) {
+                Optional<BridgeHealthLogResponseDTO> forwarded = clusterService.tryForward(inputDTO);
+                if (forwarded.isPresent()) {
+                    return ResponseEntity.ok(forwarded.get());
+                }
+            }
+            // only forwarding nodes may set the reading time, gateways talking HTTP get server time
+            BridgeHealthLogResponseDTO response =
+                    bridgeHealthService.processSensorData(inputDTO, forwardedBy != null ? recordedAt : null);
+            return ResponseEntity.ok(response);
+        } catch (IngestInFlightException e) {
+            // same sequence number is being processed by an earlier attempt, retry later
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (HttpStatusCodeException e) {
+            return ownerRejected(e);
+        }
+    }
+
+    // body is a single reading or an array of readings, parsed as a stream
+    @PostMapping(value = "/ingest/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> ingestSensorBatch(
+            InputStream body,
+            @RequestHeader(value = ClusterService.FORWARDED_HEADER, required = false) String forwardedBy
+    ) {
+        try {
+            BatchIngestResponseDTO response = bridgeHealthBatchService.ingest(body, forwardedBy != null);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException | JacksonException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IngestInFlightException e) {
+            // none of the local readings were stored, retry the batch later
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (HttpStatusCodeException e) {
+            return ownerRejected(e);
+        }
+    }
+
+    // the owning node's 400 or 409 means the same to the gateway as our own, pass it on unchanged
+    private static ResponseEntity<String> ownerRejected(HttpStatusCodeException e) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(e.getStatusCode());
+        if (e.getResponseHeaders() != null && e.getResponseHeaders().getContentType() != null) {
+            response.contentType(e.getResponseHeaders().getContentType());
+        }
+        return response.body(e.getResponseBodyAsString());
     }
 
     @GetMapping("/sensorLog")
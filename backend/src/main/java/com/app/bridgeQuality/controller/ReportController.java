@@ -0,0 +1,57 @@
+package com.app.bridgeQuality.controller;
+
+import com.app.bridgeQuality.dto.BridgeReport;
+import com.app.bridgeQuality.service.ReportExporter;
+import com.app.bridgeQuality.service.ReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/report")
+@RequiredArgsConstructor
+public class ReportController {
+    private final ReportService reportService;
+    private final ReportExporter reportExporter;
+
+    // defaults to the last 30 days; format is json, csv or pdf
+    @GetMapping("/fleet")
+    public ResponseEntity<?> fleetReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @RequestParam(defaultValue = "json") String format
+    ) {
+        OffsetDateTime end = to != null ? to : OffsetDateTime.now();
+        OffsetDateTime start = from != null ? from : end.minusDays(30);
+
+        List<BridgeReport> reports;
+        try {
+            reports = reportService.buildFleetReport(start, end);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        return switch (format.toLowerCase()) {
+            case "json" -> ResponseEntity.ok(reports);
+            case "csv" -> ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"fleet-report.csv\"")
+                    .contentType(new MediaType("text", "csv"))
+                    .body((StreamingResponseBody) out -> reportExporter.writeCsv(reports, out));
+            case "pdf" -> ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"fleet-report.pdf\"")
+                    .contentType(MediaType.APPLICATION_PDF)
+                    .body((StreamingResponseBody) out -> reportExporter.writePdf(reports, start, end, out));
+            default -> ResponseEntity.badRequest().body("format must be json, csv or pdf");
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package com.app.bridgeQuality.controller;
+
+import com.app.bridgeQuality.dto.RescoreStatusResponse;
+import com.app.bridgeQuality.service.RescoreService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/rescore")
+@RequiredArgsConstructor
+public class RescoreController {
+
+    private final RescoreService rescoreService;
+
+    // starts a job for the served model version, or resumes its unfinished one
+    @PostMapping
+    public ResponseEntity<?> start() {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(rescoreService.start());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<RescoreStatusResponse> status() {
+        RescoreStatusResponse status = rescoreService.status();
+        return status == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(status);
+    }
+
+    @PostMapping("/pause")
+    public ResponseEntity<?> pause() {
+        try {
+            return ResponseEntity.ok(rescoreService.pause());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+}
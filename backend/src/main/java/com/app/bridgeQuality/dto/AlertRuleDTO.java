@@ -0,0 +1,23 @@
+package com.app.bridgeQuality.dto;
+
+import com.app.bridgeQuality.entity.enums.AlertMetric;
+import com.app.bridgeQuality.entity.enums.AlertRuleType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AlertRuleDTO {
+    private Long id;
+    // null applies the rule to every bridge
+    private String bridgeId;
+    private AlertRuleType ruleType;
+    private AlertMetric metric;
+    // THRESHOLD: limit, SPIKE: multiple of the baseline, BQI_DROP: points lost
+    private Double threshold;
+    private Integer consecutive;
+    private Integer windowMinutes;
+    private boolean enabled = true;
+}
@@ -0,0 +1,14 @@
+package com.app.bridgeQuality.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchIngestResponseDTO {
+    private int accepted;
+    // readings dropped because their sequence number was already ingested
+    private int duplicates;
+}
@@ -2,9 +2,11 @@ package com.app.bridgeQuality.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @AllArgsConstructor
+@NoArgsConstructor
 public class BridgeHealthLogRequestDTO {
     private String bridgeId;
 
@@ -12,4 +14,7 @@ public class BridgeHealthLogRequestDTO {
     private Double vibrationMs2;
     private Double temperatureC;
     private Double humidityPercent;
+
+    // optional per-bridge sequence number, retries with the same value are ingested once
+    private Long sequence;
 }
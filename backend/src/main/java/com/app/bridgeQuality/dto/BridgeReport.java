@@ -0,0 +1,40 @@
+package com.app.bridgeQuality.dto;
+
+import com.app.bridgeQuality.entity.enums.BridgeStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BridgeReport {
+    private String bridgeId;
+    private String name;
+    private BridgeStatus currentStatus;
+    private Integer currentBqi;
+
+    private long readings;
+    private Integer firstBqi;
+    private Integer lastBqi;
+    private Integer minBqi;
+    private Double avgBqi;
+    private Map<BridgeStatus, Long> secondsInStatus = new EnumMap<>(BridgeStatus.class);
+
+    private Double minStrainMicrostrain;
+    private Double maxStrainMicrostrain;
+    private Double minVibrationMs2;
+    private Double maxVibrationMs2;
+    private Double minTemperatureC;
+    private Double maxTemperatureC;
+    private Double minHumidityPercent;
+    private Double maxHumidityPercent;
+
+    // BQI change across the reporting window, negative means the bridge got worse
+    public Integer getBqiTrend() {
+        return firstBqi == null || lastBqi == null ? null : lastBqi - firstBqi;
+    }
+}
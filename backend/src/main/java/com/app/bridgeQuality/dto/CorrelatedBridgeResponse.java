@@ -0,0 +1,17 @@
+package com.app.bridgeQuality.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CorrelatedBridgeResponse {
+    private String bridgeId;
+    private double distanceKm;
+    // peak reading in the recent window as a multiple of the bridge's baseline
+    private double vibrationRatio;
+    private double strainRatio;
+    private boolean correlated;
+}
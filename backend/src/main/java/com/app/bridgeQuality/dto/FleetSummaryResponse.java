@@ -0,0 +1,19 @@
+package com.app.bridgeQuality.dto;
+
+import com.app.bridgeQuality.entity.enums.BridgeStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FleetSummaryResponse {
+    private int totalBridges;
+    private Map<BridgeStatus, Integer> bridgesByStatus;
+    private Double averageBqi;
+    private List<BridgeResponse> worstBridges;
+}
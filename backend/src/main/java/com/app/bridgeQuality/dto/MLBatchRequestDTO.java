@@ -0,0 +1,17 @@
+package com.app.bridgeQuality.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MLBatchRequestDTO {
+
+    private double[] Strain_microstrain;
+    private double[] Vibration_ms2;
+    private double[] Temperature_C;
+    private double[] Humidity_percent;
+
+}
@@ -0,0 +1,16 @@
+package com.app.bridgeQuality.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MLBatchResponseDTO {
+
+    private int[] healthIndex;
+    private String[] healthState;
+    private String[] recommendedAction;
+
+}
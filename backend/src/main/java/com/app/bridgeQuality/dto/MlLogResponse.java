@@ -16,5 +16,6 @@ public class MlLogResponse {
     private Integer healthIndex;
     private String healthState;
     private String recommendedAction;
+    private String modelVersion;
     private OffsetDateTime createdAt;
 }
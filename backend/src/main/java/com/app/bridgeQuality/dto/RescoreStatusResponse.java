@@ -0,0 +1,24 @@
+package com.app.bridgeQuality.dto;
+
+import com.app.bridgeQuality.entity.enums.RescoreJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RescoreStatusResponse {
+    private long jobId;
+    private String modelVersion;
+    private RescoreJobStatus status;
+    // rows up to the last checkpoint
+    private long processed;
+    // rows in the job's range when it was (re)started, including already processed ones
+    private long total;
+    private OffsetDateTime startedAt;
+    private OffsetDateTime updatedAt;
+    private String error;
+}
@@ -0,0 +1,120 @@
+package com.app.bridgeQuality.dto;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Columnar buffer of sensor readings. Values live in primitive arrays so a
+ * batch of N readings costs a handful of arrays instead of N boxed DTOs.
+ * Instances are meant to be reused: call {@link #clear()} between requests.
+ */
+public class SensorReadingBatch {
+
+    // marks readings sent without a sequence number
+    public static final long NO_SEQUENCE = Long.MIN_VALUE;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private String[] bridgeIds = new String[INITIAL_CAPACITY];
+    private double[] strainMicrostrain = new double[INITIAL_CAPACITY];
+    private double[] vibrationMs2 = new double[INITIAL_CAPACITY];
+    private double[] temperatureC = new double[INITIAL_CAPACITY];
+    private double[] humidityPercent = new double[INITIAL_CAPACITY];
+    private long[] sequences = new long[INITIAL_CAPACITY];
+    private int size;
+
+    public void add(String bridgeId, double strain, double vibration, double temperature, double humidity,
+                    long sequence) {
+        if (size == bridgeIds.length) {
+            grow();
+        }
+        bridgeIds[size] = bridgeId;
+        strainMicrostrain[size] = strain;
+        vibrationMs2[size] = vibration;
+        temperatureC[size] = temperature;
+        humidityPercent[size] = humidity;
+        sequences[size] = sequence;
+        size++;
+    }
+
+    public void clear() {
+        Arrays.fill(bridgeIds, 0, size, null);
+        size = 0;
+    }
+
+    // drops the readings matching the predicate, keeping the others in order
+    public void removeIf(IntPredicate filter) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (filter.test(i)) {
+                continue;
+            }
+            bridgeIds[kept] = bridgeIds[i];
+            strainMicrostrain[kept] = strainMicrostrain[i];
+            vibrationMs2[kept] = vibrationMs2[i];
+            temperatureC[kept] = temperatureC[i];
+            humidityPercent[kept] = humidityPercent[i];
+            sequences[kept] = sequences[i];
+            kept++;
+        }
+        Arrays.fill(bridgeIds, kept, size, null);
+        size = kept;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // readings the buffers hold without growing
+    public int capacity() {
+        return bridgeIds.length;
+    }
+
+    public String bridgeId(int i) {
+        return bridgeIds[i];
+    }
+
+    public double strainMicrostrain(int i) {
+        return strainMicrostrain[i];
+    }
+
+    public double vibrationMs2(int i) {
+        return vibrationMs2[i];
+    }
+
+    public double temperatureC(int i) {
+        return temperatureC[i];
+    }
+
+    public double humidityPercent(int i) {
+        return humidityPercent[i];
+    }
+
+    public long sequence(int i) {
+        return sequences[i];
+    }
+
+    public boolean hasSequence(int i) {
+        return sequences[i] != NO_SEQUENCE;
+    }
+
+    // the ML server takes one array per feature, named like MLRequestDTO's fields
+    public MLBatchRequestDTO toModelRequest() {
+        return new MLBatchRequestDTO(
+                Arrays.copyOf(strainMicrostrain, size),
+                Arrays.copyOf(vibrationMs2, size),
+                Arrays.copyOf(temperatureC, size),
+                Arrays.copyOf(humidityPercent, size)
+        );
+    }
+
+    private void grow() {
+        int capacity = bridgeIds.length * 2;
+        bridgeIds = Arrays.copyOf(bridgeIds, capacity);
+        strainMicrostrain = Arrays.copyOf(strainMicrostrain, capacity);
+        vibrationMs2 = Arrays.copyOf(vibrationMs2, capacity);
+        temperatureC = Arrays.copyOf(temperatureC, capacity);
+        humidityPercent = Arrays.copyOf(humidityPercent, capacity);
+        sequences = Arrays.copyOf(sequences, capacity);
+    }
+}
@@ -48,6 +48,10 @@ public class Bridge implements Persistable<@NotNull String> {
     @Column(name = "bqi", nullable = false)
     private Integer bqi;
 
+    // written by BridgeStatusWriter only
+    @Column(name = "status_reading_at", insertable = false, updatable = false)
+    private OffsetDateTime statusReadingAt;
+
     @PostLoad
     @PostPersist
     void markNotNew() {
@@ -39,7 +39,9 @@ public class BridgeHealthLog {
 
     @PrePersist
     protected void onCreate() {
-        this.createdAt = OffsetDateTime.now();
+        if (this.createdAt == null) {
+            this.createdAt = OffsetDateTime.now();
+        }
     }
 
 }
\ No newline at end of file
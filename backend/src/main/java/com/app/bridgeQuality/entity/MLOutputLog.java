@@ -17,7 +17,8 @@ public class MLOutputLog {
     @GeneratedValue
     private UUID id;
 
-    @OneToOne(fetch = FetchType.LAZY)
+    // one row per scoring, a re-scored reading has one per model version
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "bridge_log_ref")
     private BridgeHealthLog bridgeLogRef;
 
@@ -31,6 +32,10 @@ public class MLOutputLog {
     @Column(name = "recommended_action", nullable = false, length = 50)
     private String recommendedAction;
 
+    // null for rows scored before model versions were recorded
+    @Column(name = "model_version", length = 50)
+    private String modelVersion;
+
     @ColumnDefault("now()")
     @Column(name = "created_at", nullable = false, updatable = false)
     private OffsetDateTime createdAt;
@@ -0,0 +1,19 @@
+package com.app.bridgeQuality.entity.enums;
+
+public enum AlertMetric {
+    STRAIN,
+    VIBRATION,
+    TEMPERATURE,
+    HUMIDITY,
+    BQI;
+
+    public double of(double strain, double vibration, double temperature, double humidity, int bqi) {
+        return switch (this) {
+            case STRAIN -> strain;
+            case VIBRATION -> vibration;
+            case TEMPERATURE -> temperature;
+            case HUMIDITY -> humidity;
+            case BQI -> bqi;
+        };
+    }
+}
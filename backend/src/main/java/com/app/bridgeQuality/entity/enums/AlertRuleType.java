@@ -0,0 +1,7 @@
+package com.app.bridgeQuality.entity.enums;
+
+public enum AlertRuleType {
+    THRESHOLD,
+    SPIKE,
+    BQI_DROP
+}
@@ -0,0 +1,8 @@
+package com.app.bridgeQuality.entity.enums;
+
+public enum RescoreJobStatus {
+    RUNNING,
+    PAUSED,
+    FAILED,
+    DONE
+}
@@ -0,0 +1,10 @@
+package com.app.bridgeQuality.event;
+
+import com.app.bridgeQuality.entity.enums.AlertMetric;
+import com.app.bridgeQuality.entity.enums.AlertRuleType;
+
+import java.time.OffsetDateTime;
+
+public record BridgeAlertEvent(long ruleId, String bridgeId, AlertRuleType ruleType, AlertMetric metric,
+                               double value, double threshold, String message, OffsetDateTime raisedAt) {
+}
@@ -0,0 +1,6 @@
+package com.app.bridgeQuality.event;
+
+import com.app.bridgeQuality.entity.Bridge;
+
+public record BridgeCreatedEvent(Bridge bridge) {
+}
@@ -0,0 +1,9 @@
+package com.app.bridgeQuality.event;
+
+import com.app.bridgeQuality.entity.enums.BridgeStatus;
+
+import java.time.OffsetDateTime;
+
+// readingAt is the time of the reading the status was taken from, events may arrive out of order
+public record BridgeStatusChangedEvent(String bridgeId, BridgeStatus status, Integer bqi, OffsetDateTime readingAt) {
+}
@@ -1,11 +1,18 @@
 package com.app.bridgeQuality.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.app.bridgeQuality.entity.Bridge;
 
 public interface BridgeRepository extends JpaRepository<Bridge,String> {
     @Query(value = "SELECT nextval('bridge_id_seq')", nativeQuery = true)
     Long getNextBridgeSequence();
+
+    @Query("SELECT b.id FROM Bridge b WHERE b.id IN :ids")
+    List<String> findExistingIds(@Param("ids") Collection<String> ids);
 }
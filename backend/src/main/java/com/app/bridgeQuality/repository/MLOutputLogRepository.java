@@ -3,7 +3,11 @@ package com.app.bridgeQuality.repository;
 import com.app.bridgeQuality.entity.MLOutputLog;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Optional;
 import java.util.UUID;
 
 public interface MLOutputLogRepository extends JpaRepository<MLOutputLog, UUID> {
+
+    // the scoring done at ingest, later rows come from re-scoring jobs
+    Optional<MLOutputLog> findFirstByBridgeLogRefIdOrderByCreatedAtAsc(UUID bridgeLogId);
 }
@@ -0,0 +1,175 @@
+package com.app.bridgeQuality.service;
+
+import com.app.bridgeQuality.dto.AlertRuleDTO;
+import com.app.bridgeQuality.event.BridgeAlertEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Evaluates alert rules inline on ingest. Rules are compiled into
+ * {@link CompiledAlertRule} predicates once per reload, and each bridge keeps its
+ * own state array, so evaluating a reading is a handful of comparisons with no
+ * database access. The rule table is polled and recompiled when it changes;
+ * state carries over for rules that did not change, so a reload neither loses
+ * counters nor re-fires alerts that are already active.
+ */
+@Slf4j
+@Service
+public class AlertRuleEngine {
+
+    private final AlertService alertService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile RuleSet ruleSet = new RuleSet(List.of());
+    private volatile String loadedVersion;
+    private final ConcurrentHashMap<String, BridgeRules> bridges = new ConcurrentHashMap<>();
+
+    public AlertRuleEngine(AlertService alertService, ApplicationEventPublisher eventPublisher) {
+        this.alertService = alertService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        try {
+            reload();
+        } catch (DataAccessException e) {
+            log.warn("Could not load alert rules: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bridgeguard.alert.reload-ms:5000}")
+    public void reloadIfChanged() {
+        try {
+            if (!Objects.equals(alertService.rulesVersion(), loadedVersion)) {
+                reload();
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not check alert rules: {}", e.getMessage());
+        }
+    }
+
+    public synchronized void reload() {
+        String version = alertService.rulesVersion();
+        List<AlertRuleDTO> enabled = alertService.findAllRules().stream()
+                .filter(AlertRuleDTO::isEnabled)
+                .toList();
+        ruleSet = new RuleSet(enabled);
+        loadedVersion = version;
+        log.info("Loaded {} alert rule(s)", enabled.size());
+    }
+
+    public void evaluate(String bridgeId, OffsetDateTime at,
+                         double strain, double vibration, double temperature, double humidity, int bqi) {
+        RuleSet current = ruleSet;
+        if (current.isEmpty()) {
+            return;
+        }
+        BridgeRules rules = bridges.get(bridgeId);
+        if (rules == null || rules.ruleSet != current) {
+            rules = bridges.compute(bridgeId, (id, existing) ->
+                    existing != null && existing.ruleSet == current ? existing : new BridgeRules(current, id, existing));
+        }
+
+        long atMillis = at.toInstant().toEpochMilli();
+        List<BridgeAlertEvent> fired = null;
+        synchronized (rules.lock) {
+            for (int i = 0; i < rules.rules.length; i++) {
+                CompiledAlertRule rule = rules.rules[i];
+                double value = rule.metric.of(strain, vibration, temperature, humidity, bqi);
+                if (rule.evaluate(rules.states[i], atMillis, value)) {
+                    if (fired == null) {
+                        fired = new ArrayList<>(2);
+                    }
+                    fired.add(new BridgeAlertEvent(rule.id, bridgeId, rule.type, rule.metric, value,
+                            rule.threshold, rule.describe(value),
+                            OffsetDateTime.ofInstant(Instant.ofEpochMilli(atMillis), ZoneOffset.UTC)));
+                }
+            }
+        }
+        if (fired != null) {
+            fired.forEach(eventPublisher::publishEvent);
+        }
+    }
+
+    /** Compiled rules split into fleet-wide ones and per-bridge ones. */
+    private static final class RuleSet {
+        private final CompiledAlertRule[] global;
+        private final Map<String, CompiledAlertRule[]> perBridge;
+
+        RuleSet(List<AlertRuleDTO> rules) {
+            List<CompiledAlertRule> fleet = new ArrayList<>();
+            Map<String, List<CompiledAlertRule>> byBridge = new HashMap<>();
+            for (AlertRuleDTO rule : rules) {
+                CompiledAlertRule compiled = CompiledAlertRule.compile(rule);
+                if (rule.getBridgeId() == null) {
+                    fleet.add(compiled);
+                } else {
+                    byBridge.computeIfAbsent(rule.getBridgeId(), id -> new ArrayList<>()).add(compiled);
+                }
+            }
+            this.global = fleet.toArray(CompiledAlertRule[]::new);
+            this.perBridge = new HashMap<>();
+            byBridge.forEach((id, list) -> perBridge.put(id, list.toArray(CompiledAlertRule[]::new)));
+        }
+
+        boolean isEmpty() {
+            return global.length == 0 && perBridge.isEmpty();
+        }
+
+        CompiledAlertRule[] rulesFor(String bridgeId) {
+            CompiledAlertRule[] own = perBridge.get(bridgeId);
+            if (own == null) {
+                return global;
+            }
+            CompiledAlertRule[] all = new CompiledAlertRule[global.length + own.length];
+            System.arraycopy(global, 0, all, 0, global.length);
+            System.arraycopy(own, 0, all, global.length, own.length);
+            return all;
+        }
+    }
+
+    // on reload, rules with an unchanged definition keep their state, new or edited ones start fresh
+    private static final class BridgeRules {
+        private final RuleSet ruleSet;
+        private final CompiledAlertRule[] rules;
+        private final CompiledAlertRule.State[] states;
+        // shared by every generation of a bridge's rules, since they share State objects
+        private final Object lock;
+
+        BridgeRules(RuleSet ruleSet, String bridgeId, BridgeRules previous) {
+            this.ruleSet = ruleSet;
+            this.lock = previous != null ? previous.lock : new Object();
+            this.rules = ruleSet.rulesFor(bridgeId);
+            this.states = new CompiledAlertRule.State[rules.length];
+
+            Map<Long, Integer> previousIndex = new HashMap<>();
+            if (previous != null) {
+                for (int i = 0; i < previous.rules.length; i++) {
+                    previousIndex.put(previous.rules[i].id, i);
+                }
+            }
+            for (int i = 0; i < states.length; i++) {
+                Integer old = previousIndex.get(rules[i].id);
+                states[i] = old != null && previous.rules[old].definition.equals(rules[i].definition)
+                        ? previous.states[old]
+                        : new CompiledAlertRule.State();
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.app.bridgeQuality.service;
+
+import com.app.bridgeQuality.dto.AlertRuleDTO;
+import com.app.bridgeQuality.entity.enums.AlertMetric;
+import com.app.bridgeQuality.entity.enums.AlertRuleType;
+import com.app.bridgeQuality.event.BridgeAlertEvent;
+import com.app.bridgeQuality.repository.BridgeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Storage for alert rules and the most recent alerts. Rules live in the
+ * {@code alert_rule} table, created by schema.sql.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AlertService {
+
+    private static final int RECENT_ALERTS = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BridgeRepository bridgeRepository;
+
+    // guarded by itself
+    private final Deque<BridgeAlertEvent> recentAlerts = new ArrayDeque<>();
+
+    // cheap fingerprint of the rule table, changes on every insert, update or delete
+    public String rulesVersion() {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) || ':' || coalesce(max(updated_at)::text, '') FROM alert_rule", String.class);
+    }
+
+    public List<AlertRuleDTO> findAllRules() {
+        return jdbcTemplate.query(
+                "SELECT id, bridge_id, rule_type, metric, threshold, consecutive, window_minutes, enabled "
+                        + "FROM alert_rule ORDER BY id",
+                (rs, i) -> new AlertRuleDTO(
+                        rs.getLong("id"),
+                        rs.getString("bridge_id"),
+                        AlertRuleType.valueOf(rs.getString("rule_type")),
+                        AlertMetric.valueOf(rs.getString("metric")),
+                        rs.getDouble("threshold"),
+                        rs.getObject("consecutive", Integer.class),
+                        rs.getObject("window_minutes", Integer.class),
+                        rs.getBoolean("enabled")));
+    }
+
+    public AlertRuleDTO createRule(AlertRuleDTO rule) {
+        validate(rule);
+        Long id = jdbcTemplate.queryForObject(
+                "INSERT INTO alert_rule (bridge_id, rule_type, metric, threshold, consecutive, window_minutes, enabled) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?) RETURNING id",
+                Long.class,
+                rule.getBridgeId(), rule.getRuleType().name(), rule.getMetric().name(), rule.getThreshold(),
+                rule.getConsecutive(), rule.getWindowMinutes(), rule.isEnabled());
+        rule.setId(id);
+        return rule;
+    }
+
+    public boolean deleteRule(long id) {
+        return jdbcTemplate.update("DELETE FROM alert_rule WHERE id = ?", id) > 0;
+    }
+
+    @EventListener
+    public void onAlert(BridgeAlertEvent alert) {
+        log.warn("Alert on {}: {}", alert.bridgeId(), alert.message());
+        synchronized (recentAlerts) {
+            if (recentAlerts.size() == RECENT_ALERTS) {
+                recentAlerts.removeLast();
+            }
+            recentAlerts.addFirst(alert);
+        }
+    }
+
+    // newest first
+    public List<BridgeAlertEvent> recentAlerts() {
+        synchronized (recentAlerts) {
+            return new ArrayList<>(recentAlerts);
+        }
+    }
+
+    private void validate(AlertRuleDTO rule) {
+        if (rule.getRuleType() == null || rule.getThreshold() == null) {
+            throw new IllegalArgumentException("ruleType and threshold are required");
+        }
+        if (rule.getBridgeId() != null && !bridgeRepository.existsById(rule.getBridgeId())) {
+            throw new IllegalArgumentException("Bridge not found: " + rule.getBridgeId());
+        }
+        switch (rule.getRuleType()) {
+            case THRESHOLD -> {
+                if (rule.getMetric() == null) {
+                    throw new IllegalArgumentException("metric is required");
+                }
+                if (rule.getConsecutive() == null) {
+                    rule.setConsecutive(1);
+                } else if (rule.getConsecutive() < 1) {
+                    throw new IllegalArgumentException("consecutive must be at least 1");
+                }
+            }
+            case SPIKE -> {
+                if (rule.getMetric() == null) {
+                    throw new IllegalArgumentException("metric is required");
+                }
+                if (rule.getThreshold() <= 1) {
+                    throw new IllegalArgumentException("SPIKE threshold is a multiple of the baseline and must exceed 1");
+                }
+            }
+            case BQI_DROP -> {
+                rule.setMetric(AlertMetric.BQI);
+                if (rule.getWindowMinutes() == null) {
+                    rule.setWindowMinutes(60);
+                } else if (rule.getWindowMinutes() < 1) {
+                    throw new IllegalArgumentException("windowMinutes must be at least 1");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.app.bridgeQuality.service;
+
+import com.app.bridgeQuality.dto.BatchIngestResponseDTO;
+import com.app.bridgeQuality.dto.BridgeHealthLogRequestDTO;
+import com.app.bridgeQuality.dto.MLBatchResponseDTO;
+import com.app.bridgeQuality.dto.SensorReadingBatch;
+import com.app.bridgeQuality.entity.enums.BridgeStatus;
+import com.app.bridgeQuality.event.BridgeStatusChangedEvent;
+import com.app.bridgeQuality.repository.BridgeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * High-throughput ingest path: the request body is streamed into a reused columnar
+ * {@link SensorReadingBatch}, scored with a single ML call and written with JDBC
+ * batch inserts, so no per-reading DTOs or entities are created.
+ */
+@Service
+public class BridgeHealthBatchService {
+
+    private static final String INSERT_SENSOR_LOG =
+            "INSERT INTO bridge_health_log (id, bridge_id, strain_microstrain, vibration_ms2, temperature_c, humidity_percent, created_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ML_LOG =
+            "INSERT INTO ml_output_log (id, bridge_log_ref, health_index, health_state, recommended_action, model_version, created_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    // buffers grown beyond this by one large request are dropped rather than kept per thread
+    private static final int RETAINED_CAPACITY = 4096;
+
+    private final BridgeRepository bridgeRepository;
+    private final MLService mlService;
+    private final SensorBatchParser parser;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ClusterService clusterService;
+    private final BridgeStatusWriter bridgeStatusWriter;
+    private final AlertRuleEngine alertRuleEngine;
+    private final IngestDedupeService ingestDedupeService;
+    private final CorrelationService correlationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxReadings;
+
+    // request threads reuse their buffers across requests
+    private final ThreadLocal<SensorReadingBatch> batches = ThreadLocal.withInitial(SensorReadingBatch::new);
+
+    public BridgeHealthBatchService(BridgeRepository bridgeRepository,
+                                    MLService mlService,
+                                    SensorBatchParser parser,
+                                    JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    ClusterService clusterService,
+                                    BridgeStatusWriter bridgeStatusWriter,
+                                    AlertRuleEngine alertRuleEngine,
+                                    IngestDedupeService ingestDedupeService,
+                                    CorrelationService correlationService,
+                                    ApplicationEventPublisher eventPublisher,
+                                    @Value("${bridgeguard.ingest.batch.max-readings:10000}") int maxReadings) {
+        this.bridgeRepository = bridgeRepository;
+        this.mlService = mlService;
+        this.parser = parser;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.clusterService = clusterService;
+        this.bridgeStatusWriter = bridgeStatusWriter;
+        this.alertRuleEngine = alertRuleEngine;
+        this.ingestDedupeService = ingestDedupeService;
+        this.correlationService = correlationService;
+        this.eventPublisher = eventPublisher;
+        this.maxReadings = maxReadings;
+    }
+
+    // forwarded batches were already routed by another node and are always processed here
+    public BatchIngestResponseDTO ingest(InputStream body, boolean forwarded) {
+        SensorReadingBatch batch = batches.get();
+        try {
+            parser.parse(body, batch, maxReadings);
+            // before anything is forwarded, so a bad batch is rejected as a whole
+            requireBridges(batch);
+            int accepted = forwarded ? 0 : forwardRemoteReadings(batch);
+            int duplicates = ingestDedupeService.claimBatch(batch);
+            try {
+                accepted += process(batch);
+            } catch (RuntimeException e) {
+                ingestDedupeService.releaseBatch(batch);
+                throw e;
+            }
+            return new BatchIngestResponseDTO(accepted, duplicates);
+        } finally {
+            batch.clear();
+            if (batch.capacity() > RETAINED_CAPACITY) {
+                batches.remove();
+            }
+        }
+    }
+
+    // sends readings owned by other nodes to their owners and removes them from the batch
+    private int forwardRemoteReadings(SensorReadingBatch batch) {
+        if (!clusterService.isEnabled()) {
+            return 0;
+        }
+        Map<String, List<BridgeHealthLogRequestDTO>> byOwner = new HashMap<>();
+        String[] owners = new String[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            owners[i] = clusterService.remoteOwnerOf(batch.bridgeId(i));
+            if (owners[i] != null) {
+                byOwner.computeIfAbsent(owners[i], owner -> new ArrayList<>()).add(new BridgeHealthLogRequestDTO(
+                        batch.bridgeId(i), batch.strainMicrostrain(i), batch.vibrationMs2(i),
+                        batch.temperatureC(i), batch.humidityPercent(i),
+                        batch.hasSequence(i) ? batch.sequence(i) : null));
+            }
+        }
+        if (byOwner.isEmpty()) {
+            return 0;
+        }
+
+        int forwarded = 0;
+        for (Map.Entry<String, List<BridgeHealthLogRequestDTO>> entry : byOwner.entrySet()) {
+            try {
+                forwarded += clusterService.forwardBatch(entry.getKey(), entry.getValue());
+            } catch (ResourceAccessException e) {
+                if (!ClusterService.isConnectFailure(e)) {
+                    // the owner may have ingested them; fail rather than risk ingesting twice
+                    throw e;
+                }
+                // owner unreachable, keep its readings and ingest them here
+                for (int i = 0; i < owners.length; i++) {
+                    if (entry.getKey().equals(owners[i])) {
+                        owners[i] = null;
+                    }
+                }
+            }
+        }
+        batch.removeIf(i -> owners[i] != null);
+        return forwarded;
+    }
+
+    public int process(SensorReadingBatch batch) {
+        int size = batch.size();
+        if (size == 0) {
+            return 0;
+        }
+
+        // Score the whole batch in one ML call
+        MLBatchResponseDTO scores = mlService.sendBatchToModel(batch.toModelRequest());
+
+        UUID[] logIds = new UUID[size];
+        for (int i = 0; i < size; i++) {
+            logIds[i] = UUID.randomUUID();
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+
+        Map<String, Integer> lastReading = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            lastReading.put(batch.bridgeId(i), i);
+        }
+
+        Map<String, Integer> updated = transactionTemplate.execute(status -> {
+            insertSensorLogs(batch, logIds, now);
+            insertMlLogs(scores, logIds, now);
+            ingestDedupeService.completeBatch(batch, logIds);
+            return updateBridges(lastReading, scores, now);
+        });
+
+        for (int i = 0; i < size; i++) {
+            alertRuleEngine.evaluate(batch.bridgeId(i), now,
+                    batch.strainMicrostrain(i), batch.vibrationMs2(i), batch.temperatureC(i), batch.humidityPercent(i),
+                    scores.getHealthIndex()[i]);
+            correlationService.record(batch.bridgeId(i), now, batch.strainMicrostrain(i), batch.vibrationMs2(i));
+        }
+        updated.forEach((bridgeId, reading) -> eventPublisher.publishEvent(new BridgeStatusChangedEvent(bridgeId,
+                BridgeStatus.valueOf(BridgeHealthService.mapHealthStateToBridgeStatus(scores.getHealthState()[reading])),
+                scores.getHealthIndex()[reading], now)));
+        return size;
+    }
+
+    private void requireBridges(SensorReadingBatch batch) {
+        Set<String> bridgeIds = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            bridgeIds.add(batch.bridgeId(i));
+        }
+        if (bridgeIds.isEmpty()) {
+            return;
+        }
+        List<String> existing = bridgeRepository.findExistingIds(bridgeIds);
+        if (existing.size() != bridgeIds.size()) {
+            bridgeIds.removeAll(existing);
+            throw new IllegalArgumentException("Bridge not found: " + String.join(", ", bridgeIds));
+        }
+    }
+
+    private void insertSensorLogs(SensorReadingBatch batch, UUID[] logIds, OffsetDateTime now) {
+        jdbcTemplate.batchUpdate(INSERT_SENSOR_LOG, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setObject(1, logIds[i]);
+                ps.setString(2, batch.bridgeId(i));
+                ps.setDouble(3, batch.strainMicrostrain(i));
+                ps.setDouble(4, batch.vibrationMs2(i));
+                ps.setDouble(5, batch.temperatureC(i));
+                ps.setDouble(6, batch.humidityPercent(i));
+                ps.setObject(7, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return batch.size();
+            }
+        });
+    }
+
+    private void insertMlLogs(MLBatchResponseDTO scores, UUID[] logIds, OffsetDateTime now) {
+        jdbcTemplate.batchUpdate(INSERT_ML_LOG, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setObject(1, UUID.randomUUID());
+                ps.setObject(2, logIds[i]);
+                ps.setInt(3, scores.getHealthIndex()[i]);
+                ps.setString(4, scores.getHealthState()[i]);
+                ps.setString(5, scores.getRecommendedAction()[i]);
+                ps.setString(6, mlService.modelVersion());
+                ps.setObject(7, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return logIds.length;
+            }
+        });
+    }
+
+    // a bridge ends up with the status of its last reading in the batch;
+    // returns the bridges whose status was applied, with their reading index
+    private Map<String, Integer> updateBridges(Map<String, Integer> lastReading, MLBatchResponseDTO scores,
+                                               OffsetDateTime now) {
+        String[] ids = lastReading.keySet().toArray(String[]::new);
+        BridgeStatus[] statuses = new BridgeStatus[ids.length];
+        int[] bqis = new int[ids.length];
+        OffsetDateTime[] readingAt = new OffsetDateTime[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            int reading = lastReading.get(ids[i]);
+            statuses[i] = BridgeStatus.valueOf(
+                    BridgeHealthService.mapHealthStateToBridgeStatus(scores.getHealthState()[reading]));
+            bqis[i] = scores.getHealthIndex()[reading];
+            readingAt[i] = now;
+        }
+        boolean[] applied = bridgeStatusWriter.applyAll(ids, statuses, bqis, readingAt);
+        Map<String, Integer> updated = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (applied[i]) {
+                updated.put(ids[i], lastReading.get(ids[i]));
+            }
+        }
+        return updated;
+    }
+}
@@ -5,6 +5,7 @@ import com.app.bridgeQuality.entity.Bridge;
 import com.app.bridgeQuality.entity.BridgeHealthLog;
 import com.app.bridgeQuality.entity.MLOutputLog;
 import com.app.bridgeQuality.entity.enums.BridgeStatus;
+import com.app.bridgeQuality.event.BridgeStatusChangedEvent;
 import com.app.bridgeQuality.repository.BridgeHealthLogRepository;
 import com.app.bridgeQuality.repository.BridgeRepository;
 import com.app.bridgeQuality.repository.MLOutputLogRepository;
@@ -12,8 +13,12 @@ import jakarta.persistence.EntityNotFoundException;
 import lombok.AllArgsConstructor;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,24 +31,51 @@ public class BridgeHealthService {
     private final BridgeHealthLogRepository bridgeHealthLogRepository;
     private final MLOutputLogRepository mlOutputLogRepository;
     private final MLService mlService;
+    private final BridgeStatusWriter bridgeStatusWriter;
+    private final AlertRuleEngine alertRuleEngine;
+    private final IngestDedupeService ingestDedupeService;
+    private final CorrelationService correlationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     public BridgeHealthLogResponseDTO processSensorData(@NotNull BridgeHealthLogRequestDTO inputDTO) {
+        return processSensorData(inputDTO, null);
+    }
+
+    // recordedAt is the gateway-side timestamp; null means "now" (see BridgeHealthLog#onCreate)
+    public BridgeHealthLogResponseDTO processSensorData(@NotNull BridgeHealthLogRequestDTO inputDTO,
+                                                       OffsetDateTime recordedAt) {
+        recordedAt = ReadingTimes.notInFuture(recordedAt, Instant.now());
+        Long sequence = inputDTO.getSequence();
+        if (sequence == null) {
+            return ingest(inputDTO, recordedAt);
+        }
+
+        // Retries of an already ingested reading get the original result back
+        IngestDedupeService.Claim claim = ingestDedupeService.claim(inputDTO.getBridgeId(), sequence);
+        switch (claim.status()) {
+            case DUPLICATE -> {
+                return claim.response() != null ? claim.response() : storedResponse(claim.logId());
+            }
+            case IN_FLIGHT -> throw IngestDedupeService.inFlight(inputDTO.getBridgeId(), sequence);
+            default -> {
+            }
+        }
+        try {
+            return ingest(inputDTO, recordedAt);
+        } catch (RuntimeException e) {
+            ingestDedupeService.release(inputDTO.getBridgeId(), sequence);
+            throw e;
+        }
+    }
+
+    private BridgeHealthLogResponseDTO ingest(BridgeHealthLogRequestDTO inputDTO, OffsetDateTime recordedAt) {
 
         // Validate bridge
         Bridge bridge = bridgeRepository.findById(inputDTO.getBridgeId())
                 .orElseThrow(() -> new RuntimeException("Bridge not found"));
 
-        // Save raw sensor data
-        BridgeHealthLog log = new BridgeHealthLog();
-        log.setBridgeId(bridge);
-        log.setStrainMicrostrain(inputDTO.getStrainMicrostrain());
-        log.setVibrationMs2(inputDTO.getVibrationMs2());
-        log.setTemperatureC(inputDTO.getTemperatureC());
-        log.setHumidityPercent(inputDTO.getHumidityPercent());
-
-        log = bridgeHealthLogRepository.save(log);
-
-        // Send to ML model
+        // Score first, so a failed model call leaves nothing behind
         MLRequestDTO mlRequest = new MLRequestDTO();
         mlRequest.setStrain_microstrain(inputDTO.getStrainMicrostrain());
         mlRequest.setVibration_ms2(inputDTO.getVibrationMs2());
@@ -52,34 +84,76 @@ public class BridgeHealthService {
 
         MLResponseDTO mlResponse = mlService.sendToModel(mlRequest);
 
-        // Save ML output
-        MLOutputLog mlLog = new MLOutputLog();
-        mlLog.setBridgeLogRef(log);
-        mlLog.setHealthIndex(mlResponse.getHealthIndex());
-        mlLog.setHealthState(mlResponse.getHealthState());
-        mlLog.setRecommendedAction(mlResponse.getRecommendedAction());
-
-        mlOutputLogRepository.save(mlLog);
+        // Raw sensor data, ML output and the sequence claim commit together
+        BridgeHealthLog log = transactionTemplate.execute(status -> {
+            BridgeHealthLog sensorLog = new BridgeHealthLog();
+            sensorLog.setBridgeId(bridge);
+            sensorLog.setStrainMicrostrain(inputDTO.getStrainMicrostrain());
+            sensorLog.setVibrationMs2(inputDTO.getVibrationMs2());
+            sensorLog.setTemperatureC(inputDTO.getTemperatureC());
+            sensorLog.setHumidityPercent(inputDTO.getHumidityPercent());
+            sensorLog.setCreatedAt(recordedAt);
+            sensorLog = bridgeHealthLogRepository.save(sensorLog);
+
+            MLOutputLog mlLog = new MLOutputLog();
+            mlLog.setBridgeLogRef(sensorLog);
+            mlLog.setHealthIndex(mlResponse.getHealthIndex());
+            mlLog.setHealthState(mlResponse.getHealthState());
+            mlLog.setRecommendedAction(mlResponse.getRecommendedAction());
+            mlLog.setModelVersion(mlService.modelVersion());
+            mlOutputLogRepository.save(mlLog);
+
+            // The reading is stored, from here on a retry is a duplicate
+            if (inputDTO.getSequence() != null) {
+                ingestDedupeService.complete(bridge.getId(), inputDTO.getSequence(), sensorLog.getId(),
+                        toResponse(sensorLog.getId(), mlResponse));
+            }
+            return sensorLog;
+        });
+        BridgeHealthLogResponseDTO responseDTO = toResponse(log.getId(), mlResponse);
+
+        alertRuleEngine.evaluate(bridge.getId(), log.getCreatedAt(),
+                inputDTO.getStrainMicrostrain(), inputDTO.getVibrationMs2(),
+                inputDTO.getTemperatureC(), inputDTO.getHumidityPercent(),
+                mlResponse.getHealthIndex());
+        correlationService.record(bridge.getId(), log.getCreatedAt(),
+                inputDTO.getStrainMicrostrain(), inputDTO.getVibrationMs2());
 
         // UPDATE BRIDGE STATUS BASED ON ML OUTPUT
-        String updatedStatus = mapHealthStateToBridgeStatus(mlResponse.getHealthState());
-        Integer updateBQI = mlResponse.getHealthIndex();
-        bridge.setStatus(BridgeStatus.valueOf(updatedStatus));
-        bridge.setBqi(updateBQI);
-        bridgeRepository.save(bridge);
+        BridgeStatus updatedStatus = BridgeStatus.valueOf(mapHealthStateToBridgeStatus(mlResponse.getHealthState()));
+        int updateBQI = mlResponse.getHealthIndex();
+        if (bridgeStatusWriter.apply(bridge.getId(), updatedStatus, updateBQI, log.getCreatedAt())) {
+            eventPublisher.publishEvent(new BridgeStatusChangedEvent(bridge.getId(), updatedStatus, updateBQI,
+                    log.getCreatedAt()));
+        }
 
-        // Return response
+        return responseDTO;
+    }
+
+    private static BridgeHealthLogResponseDTO toResponse(UUID logId, MLResponseDTO mlResponse) {
         BridgeHealthLogResponseDTO responseDTO = new BridgeHealthLogResponseDTO();
-        responseDTO.setLogId(String.valueOf(log.getId()));
+        responseDTO.setLogId(String.valueOf(logId));
         responseDTO.setHealthIndex(mlResponse.getHealthIndex());
         responseDTO.setHealthState(mlResponse.getHealthState());
         responseDTO.setRecommendedAction(mlResponse.getRecommendedAction());
+        return responseDTO;
+    }
+
+    // rebuilds the response of a reading ingested before this node's memory of it
+    private BridgeHealthLogResponseDTO storedResponse(UUID logId) {
+        MLOutputLog mlLog = mlOutputLogRepository.findFirstByBridgeLogRefIdOrderByCreatedAtAsc(logId)
+                .orElseThrow(() -> new EntityNotFoundException("ML output not found for sensor log: " + logId));
 
+        BridgeHealthLogResponseDTO responseDTO = new BridgeHealthLogResponseDTO();
+        responseDTO.setLogId(String.valueOf(logId));
+        responseDTO.setHealthIndex(mlLog.getHealthIndex());
+        responseDTO.setHealthState(mlLog.getHealthState());
+        responseDTO.setRecommendedAction(mlLog.getRecommendedAction());
         return responseDTO;
     }
 
     @Contract(pure = true)
-    private @NotNull String mapHealthStateToBridgeStatus(String healthState) {
+    static @NotNull String mapHealthStateToBridgeStatus(String healthState) {
         if (healthState == null) return "FAIR";
 
         return switch (healthState.toUpperCase()) {
@@ -139,6 +213,7 @@ public class BridgeHealthService {
         dto.setHealthIndex(entity.getHealthIndex());
         dto.setHealthState(entity.getHealthState());
         dto.setRecommendedAction(entity.getRecommendedAction());
+        dto.setModelVersion(entity.getModelVersion());
         dto.setCreatedAt(entity.getCreatedAt());
         return dto;
     }
@@ -0,0 +1,64 @@
+package com.app.bridgeQuality.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reuses bridge id Strings across decoded readings. Ingest traffic repeats a small
+ * set of ids, so an id is matched against the last one seen in its hash slot
+ * instead of allocating a new String per reading. Racy but safe to share: slots
+ * only ever hold immutable Strings, and a lost update just costs an allocation.
+ */
+final class BridgeIdCache {
+
+    private static final int SIZE = 1024;
+
+    private final String[] slots = new String[SIZE];
+
+    String intern(char[] chars, int offset, int length) {
+        int hash = 1;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + chars[offset + i];
+        }
+        int slot = hash & (SIZE - 1);
+        String cached = slots[slot];
+        if (cached != null && cached.length() == length) {
+            int i = 0;
+            while (i < length && cached.charAt(i) == chars[offset + i]) {
+                i++;
+            }
+            if (i == length) {
+                return cached;
+            }
+        }
+        String id = new String(chars, offset, length);
+        slots[slot] = id;
+        return id;
+    }
+
+    // reads length US-ASCII bytes at the buffer's position and advances past them
+    String intern(ByteBuffer buffer, int length) {
+        int start = buffer.position();
+        int hash = 1;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + buffer.get(start + i);
+        }
+        int slot = hash & (SIZE - 1);
+        String cached = slots[slot];
+        buffer.position(start + length);
+        if (cached != null && cached.length() == length) {
+            int i = 0;
+            while (i < length && cached.charAt(i) == buffer.get(start + i)) {
+                i++;
+            }
+            if (i == length) {
+                return cached;
+            }
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(start, bytes);
+        String id = new String(bytes, StandardCharsets.US_ASCII);
+        slots[slot] = id;
+        return id;
+    }
+}
@@ -4,12 +4,14 @@ import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.PrecisionModel;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.app.bridgeQuality.dto.BridgeCreateRequest;
 import com.app.bridgeQuality.dto.BridgeResponse;
 import com.app.bridgeQuality.entity.Bridge;
 import com.app.bridgeQuality.entity.enums.BridgeStatus;
+import com.app.bridgeQuality.event.BridgeCreatedEvent;
 import com.app.bridgeQuality.repository.BridgeRepository;
 
 import jakarta.transaction.Transactional;
@@ -19,6 +21,7 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class BridgeService {
     private final BridgeRepository bridgeRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final GeometryFactory geometryFactory =
             new GeometryFactory(new PrecisionModel(), 4326);
 
@@ -42,6 +45,7 @@ public class BridgeService {
                 .build();
 
         bridgeRepository.save(bridge);
+        eventPublisher.publishEvent(new BridgeCreatedEvent(bridge));
     }
 
     public BridgeResponse toResponse(Bridge bridge) {
@@ -0,0 +1,148 @@
+package com.app.bridgeQuality.service;
+
+import com.app.bridgeQuality.entity.Bridge;
+import com.app.bridgeQuality.event.BridgeCreatedEvent;
+import com.app.bridgeQuality.repository.BridgeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory R-tree over bridge locations, so neighbourhood lookups on the ingest
+ * path never reach PostGIS. The tree is immutable once built; adding a bridge
+ * builds a new one and swaps it in, which is cheap at fleet sizes and keeps
+ * queries lock-free.
+ */
+@Slf4j
+@Service
+public class BridgeSpatialIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    public record Site(String bridgeId, double latitude, double longitude) {
+    }
+
+    public record Neighbour(Site site, double distanceKm) {
+    }
+
+    private record Snapshot(Map<String, Site> sites, STRtree tree) {
+    }
+
+    private final BridgeRepository bridgeRepository;
+    private final boolean clusterEnabled;
+
+    private volatile Snapshot snapshot = index(Map.of());
+
+    public BridgeSpatialIndex(BridgeRepository bridgeRepository,
+                              @Value("${bridgeguard.cluster.enabled:false}") boolean clusterEnabled) {
+        this.bridgeRepository = bridgeRepository;
+        this.clusterEnabled = clusterEnabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Bridge> all;
+        try {
+            all = bridgeRepository.findAll();
+        } catch (DataAccessException e) {
+            log.warn("Could not build bridge spatial index: {}", e.getMessage());
+            return;
+        }
+        // bridges are never deleted, so keeping what is indexed already only adds the
+        // ones created since findAll() read its rows
+        synchronized (this) {
+            Map<String, Site> sites = new HashMap<>(snapshot.sites());
+            for (Bridge bridge : all) {
+                sites.put(bridge.getId(), site(bridge));
+            }
+            snapshot = index(sites);
+        }
+    }
+
+    // bridges created on other nodes only arrive through the database
+    @Scheduled(fixedDelayString = "${bridgeguard.correlation.cluster-refresh-ms:30000}")
+    public void refreshInCluster() {
+        if (clusterEnabled) {
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBridgeCreated(BridgeCreatedEvent event) {
+        Map<String, Site> sites = new HashMap<>(snapshot.sites());
+        sites.put(event.bridge().getId(), site(event.bridge()));
+        snapshot = index(sites);
+    }
+
+    public Site site(String bridgeId) {
+        return snapshot.sites().get(bridgeId);
+    }
+
+    /** Other bridges within {@code radiusKm} of the given one, nearest first. */
+    public List<Neighbour> neighbours(String bridgeId, double radiusKm) {
+        Snapshot current = snapshot;
+        Site origin = current.sites().get(bridgeId);
+        if (origin == null) {
+            return List.of();
+        }
+
+        // degree box around the origin, refined with the great-circle distance below
+        double dLat = radiusKm / KM_PER_DEGREE;
+        double cosLat = Math.cos(Math.toRadians(origin.latitude()));
+        double dLon = cosLat < 1e-6 ? 180 : Math.min(180, dLat / cosLat);
+        Envelope box = new Envelope(origin.longitude() - dLon, origin.longitude() + dLon,
+                origin.latitude() - dLat, origin.latitude() + dLat);
+
+        List<Neighbour> neighbours = new ArrayList<>();
+        for (Object candidate : current.tree().query(box)) {
+            Site site = (Site) candidate;
+            if (site.bridgeId().equals(bridgeId)) {
+                continue;
+            }
+            double distance = distanceKm(origin, site);
+            if (distance <= radiusKm) {
+                neighbours.add(new Neighbour(site, distance));
+            }
+        }
+        neighbours.sort(Comparator.comparingDouble(Neighbour::distanceKm));
+        return neighbours;
+    }
+
+    private static Snapshot index(Map<String, Site> sites) {
+        STRtree tree = new STRtree();
+        for (Site site : sites.values()) {
+            tree.insert(new Envelope(site.longitude(), site.longitude(), site.latitude(), site.latitude()), site);
+        }
+        // build now so readers never trigger the lazy build concurrently
+        tree.build();
+        return new Snapshot(Map.copyOf(sites), tree);
+    }
+
+    // locations are stored as lon/lat points (see BridgeService#createBridge)
+    private static Site site(Bridge bridge) {
+        return new Site(bridge.getId(), bridge.getLocation().getY(), bridge.getLocation().getX());
+    }
+
+    private static double distanceKm(Site a, Site b) {
+        double dLat = Math.toRadians(b.latitude() - a.latitude());
+        double dLon = Math.toRadians(b.longitude() - a.longitude());
+        double h = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(a.latitude())) * Math.cos(Math.toRadians(b.latitude()))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(h)));
+    }
+}
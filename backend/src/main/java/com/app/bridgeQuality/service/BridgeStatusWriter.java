@@ -0,0 +1,66 @@
+package com.app.bridgeQuality.service;
+
+import com.app.bridgeQuality.entity.enums.BridgeStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+
+/**
+ * Applies a scored reading to its bridge's status and BQI. Ownership only routes
+ * ingest, it does not make it exclusive: a fallback after an unreachable owner, or
+ * two nodes briefly disagreeing on membership, can score the same bridge at once.
+ * The update is therefore a single conditional statement instead of a
+ * read-modify-write, and only applies readings at least as new as the one the
+ * bridge already shows, so the newest reading wins whatever the commit order.
+ */
+@Component
+@RequiredArgsConstructor
+public class BridgeStatusWriter {
+
+    private static final String UPDATE_BRIDGE =
+            "UPDATE bridges SET status = ?, bqi = ?, updated_at = now(), status_reading_at = ? "
+                    + "WHERE id = ? AND (status_reading_at IS NULL OR status_reading_at <= ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // false when the bridge already shows a newer reading
+    public boolean apply(String bridgeId, BridgeStatus status, int bqi, OffsetDateTime readingAt) {
+        return jdbcTemplate.update(UPDATE_BRIDGE, ps -> bind(ps, bridgeId, status, bqi, readingAt)) == 1;
+    }
+
+    // applied[i] is false when bridge i already shows a newer reading
+    public boolean[] applyAll(String[] bridgeIds, BridgeStatus[] statuses, int[] bqis, OffsetDateTime[] readingAt) {
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_BRIDGE, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                bind(ps, bridgeIds[i], statuses[i], bqis[i], readingAt[i]);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return bridgeIds.length;
+            }
+        });
+        boolean[] applied = new boolean[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            applied[i] = counts[i] == 1;
+        }
+        return applied;
+    }
+
+    private static void bind(PreparedStatement ps, String bridgeId, BridgeStatus status, int bqi,
+                             OffsetDateTime readingAt) throws SQLException {
+        // OTHER lets Postgres coerce into the status column whether it is varchar or an enum type
+        ps.setObject(1, status.name(), Types.OTHER);
+        ps.setInt(2, bqi);
+        ps.setObject(3, readingAt);
+        ps.setString(4, bridgeId);
+        ps.setObject(5, readingAt);
+    }
+}
@@ -0,0 +1,220 @@
+package com.app.bridgeQuality.service;
+
+import com.app.bridgeQuality.dto.BatchIngestResponseDTO;
+import com.app.bridgeQuality.dto.BridgeHealthLogRequestDTO;
+import com.app.bridgeQuality.dto.BridgeHealthLogResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Optional multi-node ingest. Nodes register in the {@code cluster_node} table and
+ * heartbeat there; every node derives the same {@link PartitionTable} from the live
+ * members, and ingest for a bridge owned by another node is forwarded to it over
+ * HTTP. With clustering disabled every bridge is local.
+ * <p>
+ * To try it locally, start several instances with distinct {@code server.port},
+ * {@code bridgeguard.cluster.enabled=true} and a matching
+ * {@code bridgeguard.cluster.advertised-url}.
+ */
+@Slf4j
+@Service
+public class ClusterService implements SmartLifecycle {
+
+    // set on forwarded requests so the receiving node never forwards again
+    public static final String FORWARDED_HEADER = "X-BridgeGuard-Forwarded";
+    // gateway-side reading time of a forwarded reading, ISO-8601
+    public static final String RECORDED_AT_HEADER = "X-BridgeGuard-Recorded-At";
+
+    // pg advisory lock key serialising membership changes
+    private static final long MEMBERSHIP_LOCK = 0x4272_6964_6765L;
+
+    private static final String UPSERT_SELF =
+            "INSERT INTO cluster_node (node_id, base_url, heartbeat_at) VALUES (?, ?, now()) "
+                    + "ON CONFLICT (node_id) DO UPDATE SET base_url = EXCLUDED.base_url, heartbeat_at = now()";
+    private static final String PRUNE_DEAD =
+            "DELETE FROM cluster_node WHERE heartbeat_at < now() - (? * interval '1 millisecond')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RestTemplate restTemplate;
+
+    private final boolean enabled;
+    private final String nodeId;
+    private final String advertisedUrl;
+    private final long nodeTtlMs;
+
+    private volatile PartitionTable partitions = new PartitionTable(List.of());
+    private volatile boolean running;
+
+    public ClusterService(JdbcTemplate jdbcTemplate,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${bridgeguard.cluster.enabled:false}") boolean enabled,
+                          @Value("${bridgeguard.cluster.node-id:}") String nodeId,
+                          @Value("${bridgeguard.cluster.advertised-url:http://localhost:${server.port:8080}}") String advertisedUrl,
+                          @Value("${bridgeguard.cluster.node-ttl-ms:10000}") long nodeTtlMs,
+                          @Value("${bridgeguard.cluster.connect-timeout-ms:1000}") long connectTimeoutMs,
+                          @Value("${bridgeguard.cluster.read-timeout-ms:15000}") long readTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.advertisedUrl = advertisedUrl;
+        this.nodeTtlMs = nodeTtlMs;
+
+        // the JDK client tells a failed connect apart from a timeout on an accepted request
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build());
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        this.restTemplate = new RestTemplate(requestFactory);
+    }
+
+    @Override
+    public void start() {
+        if (enabled) {
+            heartbeat();
+            log.info("Cluster node {} joined at {}", nodeId, advertisedUrl);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (enabled) {
+            try {
+                jdbcTemplate.update("DELETE FROM cluster_node WHERE node_id = ?", nodeId);
+            } catch (DataAccessException e) {
+                log.warn("Could not leave cluster cleanly, node will expire: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Scheduled(fixedDelayString = "${bridgeguard.cluster.heartbeat-ms:2000}")
+    public void heartbeat() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<PartitionTable.Member> members = transactionTemplate.execute(status -> {
+                jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", (RowCallbackHandler) rs -> { }, MEMBERSHIP_LOCK);
+                jdbcTemplate.update(UPSERT_SELF, nodeId, advertisedUrl);
+                jdbcTemplate.update(PRUNE_DEAD, nodeTtlMs);
+                return jdbcTemplate.query("SELECT node_id, base_url FROM cluster_node ORDER BY node_id",
+                        (rs, i) -> new PartitionTable.Member(rs.getString("node_id"), rs.getString("base_url")));
+            });
+            if (members != null && !members.equals(partitions.members())) {
+                partitions = new PartitionTable(members);
+                log.info("Cluster membership changed, {} node(s): {}", members.size(),
+                        members.stream().map(PartitionTable.Member::nodeId).toList());
+            }
+        } catch (DataAccessException e) {
+            // keep routing with the last known table until the database is back
+            log.warn("Cluster heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    // the base URL of the owning node, or null when this node owns the bridge
+    public String remoteOwnerOf(String bridgeId) {
+        if (!enabled) {
+            return null;
+        }
+        PartitionTable.Member owner = partitions.ownerOf(bridgeId);
+        return owner == null || owner.nodeId().equals(nodeId) ? null : owner.baseUrl();
+    }
+
+    public Optional<BridgeHealthLogResponseDTO> tryForward(BridgeHealthLogRequestDTO inputDTO) {
+        return tryForward(inputDTO, null);
+    }
+
+    /**
+     * Forwards the reading to its owner. Empty means the caller should process it
+     * locally: either this node owns the bridge, or the owner could not be
+     * connected to, so it never saw the reading and a late reading is better than a
+     * lost one. Any other failure is rethrown, since the owner may have ingested it;
+     * a rejection by the owner arrives as {@link HttpStatusCodeException}.
+     */
+    public Optional<BridgeHealthLogResponseDTO> tryForward(BridgeHealthLogRequestDTO inputDTO, OffsetDateTime recordedAt) {
+        String owner = remoteOwnerOf(inputDTO.getBridgeId());
+        if (owner == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(restTemplate.postForObject(owner + "/api/bridgeHealth/ingest",
+                    forwarded(inputDTO, recordedAt), BridgeHealthLogResponseDTO.class));
+        } catch (ResourceAccessException e) {
+            if (!isConnectFailure(e)) {
+                throw e;
+            }
+            log.warn("Owner {} of {} unreachable, ingesting locally: {}", owner, inputDTO.getBridgeId(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Forwards readings to their owner and returns how many it accepted. Throws
+     * ResourceAccessException, where {@link #isConnectFailure} tells whether the owner
+     * never received them, or HttpStatusCodeException when the owner rejected them.
+     */
+    public int forwardBatch(String owner, List<BridgeHealthLogRequestDTO> readings) {
+        BatchIngestResponseDTO response = restTemplate.postForObject(owner + "/api/bridgeHealth/ingest/batch",
+                forwarded(readings, null), BatchIngestResponseDTO.class);
+        return response == null ? 0 : response.getAccepted();
+    }
+
+    // true only when no connection was made, so the request cannot have reached the owner
+    public static boolean isConnectFailure(ResourceAccessException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException
+                    || cause instanceof HttpConnectTimeoutException
+                    || cause instanceof NoRouteToHostException
+                    || cause instanceof UnknownHostException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private <T> HttpEntity<T> forwarded(T body, OffsetDateTime recordedAt) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(FORWARDED_HEADER, nodeId);
+        if (recordedAt != null) {
+            headers.set(RECORDED_AT_HEADER, recordedAt.toString());
+        }
+        return new HttpEntity<>(body, headers);
+    }
+}
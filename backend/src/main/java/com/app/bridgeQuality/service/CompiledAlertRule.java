@@ -0,0 +1,169 @@
+package com.app.bridgeQuality.service;
+
+import com.app.bridgeQuality.dto.AlertRuleDTO;
+import com.app.bridgeQuality.entity.enums.AlertMetric;
+import com.app.bridgeQuality.entity.enums.AlertRuleType;
+
+/**
+ * An alert rule reduced to a predicate over one metric plus a small per-bridge
+ * state machine. Rules are edge-triggered: they fire once when their condition
+ * starts holding and re-arm when it clears.
+ */
+abstract class CompiledAlertRule {
+
+    final long id;
+    // the rule as loaded, used to tell an unchanged rule apart from an edited one on reload
+    final AlertRuleDTO definition;
+    final AlertRuleType type;
+    final AlertMetric metric;
+    final double threshold;
+
+    private CompiledAlertRule(AlertRuleDTO rule) {
+        this.id = rule.getId();
+        this.definition = rule;
+        this.type = rule.getRuleType();
+        this.metric = rule.getMetric();
+        this.threshold = rule.getThreshold();
+    }
+
+    static CompiledAlertRule compile(AlertRuleDTO rule) {
+        return switch (rule.getRuleType()) {
+            case THRESHOLD -> new Threshold(rule);
+            case SPIKE -> new Spike(rule);
+            case BQI_DROP -> new BqiDrop(rule);
+        };
+    }
+
+    // true when the rule fires for this reading
+    abstract boolean evaluate(State state, long atMillis, double value);
+
+    abstract String describe(double value);
+
+    /** Mutable per-bridge, per-rule state; callers serialise access per bridge. */
+    static final class State {
+        boolean active;
+        int consecutive;
+        final MovingBaseline baseline = new MovingBaseline();
+
+        // monotonic deque of (time, bqi), largest bqi at the head
+        long[] times;
+        int[] values;
+        int head;
+        int size;
+    }
+
+    private static final class Threshold extends CompiledAlertRule {
+        private final int consecutive;
+
+        Threshold(AlertRuleDTO rule) {
+            super(rule);
+            this.consecutive = rule.getConsecutive() == null ? 1 : rule.getConsecutive();
+        }
+
+        @Override
+        boolean evaluate(State state, long atMillis, double value) {
+            if (value <= threshold) {
+                state.consecutive = 0;
+                state.active = false;
+                return false;
+            }
+            state.consecutive++;
+            if (state.consecutive >= consecutive && !state.active) {
+                state.active = true;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        String describe(double value) {
+            return metric + " " + value + " above " + threshold + " for " + consecutive + " consecutive readings";
+        }
+    }
+
+    private static final class Spike extends CompiledAlertRule {
+        Spike(AlertRuleDTO rule) {
+            super(rule);
+        }
+
+        @Override
+        boolean evaluate(State state, long atMillis, double value) {
+            if (!state.baseline.seeded()) {
+                state.baseline.update(value);
+                return false;
+            }
+            double baseline = state.baseline.update(value);
+
+            boolean spiking = Math.abs(value) > Math.abs(baseline) * threshold;
+            boolean fire = spiking && !state.active;
+            state.active = spiking;
+            return fire;
+        }
+
+        @Override
+        String describe(double value) {
+            return metric + " spiked to " + value + ", over " + threshold + "x its baseline";
+        }
+    }
+
+    private static final class BqiDrop extends CompiledAlertRule {
+        private final long windowMillis;
+
+        BqiDrop(AlertRuleDTO rule) {
+            super(rule);
+            this.windowMillis = (rule.getWindowMinutes() == null ? 60 : rule.getWindowMinutes()) * 60_000L;
+        }
+
+        @Override
+        boolean evaluate(State state, long atMillis, double value) {
+            int bqi = (int) value;
+            if (state.times == null) {
+                state.times = new long[16];
+                state.values = new int[16];
+            }
+            // expire readings that left the window
+            while (state.size > 0 && state.times[state.head] < atMillis - windowMillis) {
+                state.head = (state.head + 1) % state.times.length;
+                state.size--;
+            }
+            // readings at or below the new one can never be the window maximum again
+            while (state.size > 0 && state.values[index(state, state.size - 1)] <= bqi) {
+                state.size--;
+            }
+            push(state, atMillis, bqi);
+
+            boolean dropped = state.values[state.head] - bqi > threshold;
+            boolean fire = dropped && !state.active;
+            state.active = dropped;
+            return fire;
+        }
+
+        @Override
+        String describe(double value) {
+            return "BQI fell to " + (int) value + ", more than " + threshold + " points within "
+                    + windowMillis / 60_000 + " minutes";
+        }
+
+        private static int index(State state, int offset) {
+            return (state.head + offset) % state.times.length;
+        }
+
+        private static void push(State state, long atMillis, int bqi) {
+            if (state.size == state.times.length) {
+                long[] times = new long[state.size * 2];
+                int[] values = new int[state.size * 2];
+                for (int i = 0; i < state.size; i++) {
+                    times[i] = state.times[index(state, i)];
+                    values[i] = state.values[index(state, i)];
+                }
+                state.times = times;
+                state.values = values;
+                state.head = 0;
+            }
+            int tail = index(state, state.size);
+            state.times[tail] = atMillis;
+            state.values[tail] = bqi;
+            state.size++;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.app.bridgeQuality.service;
+
+import com.app.bridgeQuality.dto.CorrelatedBridgeResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Finds nearby bridges reacting to the same regional event. Every reading updates
+ * a small per-bridge window of vibration and strain relative to their baselines;
+ * when a bridge starts spiking, its neighbours from {@link BridgeSpatialIndex} are
+ * checked for elevated readings in the same time window. Everything stays in
+ * memory, so the ingest path pays a few comparisons per reading.
+ */
+@Slf4j
+@Service
+public class CorrelationService {
+
+    private static final int WINDOW = 64;
+    private static final double MIN_BASELINE = 1e-6;
+
+    private final BridgeSpatialIndex spatialIndex;
+    private final double radiusKm;
+    private final long windowMillis;
+    private final double spikeFactor;
+    private final double neighbourFactor;
+
+    private final ConcurrentHashMap<String, RecentReadings> recent = new ConcurrentHashMap<>();
+
+    public CorrelationService(BridgeSpatialIndex spatialIndex,
+                              @Value("${bridgeguard.correlation.radius-km:25}") double radiusKm,
+                              @Value("${bridgeguard.correlation.window-ms:120000}") long windowMillis,
+                              @Value("${bridgeguard.correlation.spike-factor:3.0}") double spikeFactor,
+                              @Value("${bridgeguard.correlation.neighbour-factor:1.5}") double neighbourFactor) {
+        this.spatialIndex = spatialIndex;
+        this.radiusKm = radiusKm;
+        this.windowMillis = windowMillis;
+        this.spikeFactor = spikeFactor;
+        this.neighbourFactor = neighbourFactor;
+    }
+
+    public double defaultRadiusKm() {
+        return radiusKm;
+    }
+
+    public void record(String bridgeId, OffsetDateTime at, double strain, double vibration) {
+        long atMillis = at.toInstant().toEpochMilli();
+        RecentReadings readings = recent.computeIfAbsent(bridgeId, id -> new RecentReadings());
+        boolean spikeStarted;
+        synchronized (readings) {
+            spikeStarted = readings.add(atMillis, vibration, strain, spikeFactor);
+        }
+        // only the edge into a spike pays for the neighbour lookup
+        if (spikeStarted) {
+            List<CorrelatedBridgeResponse> correlated = new ArrayList<>();
+            for (CorrelatedBridgeResponse neighbour : compare(bridgeId, radiusKm, atMillis)) {
+                if (neighbour.isCorrelated()) {
+                    correlated.add(neighbour);
+                }
+            }
+            if (!correlated.isEmpty()) {
+                log.warn("Spike on {} correlated with {} bridge(s) within {} km: {}", bridgeId, correlated.size(),
+                        radiusKm, correlated.stream().map(CorrelatedBridgeResponse::getBridgeId).toList());
+            }
+        }
+    }
+
+    /** Neighbours of the bridge within the radius with their recent deviation, nearest first. */
+    public List<CorrelatedBridgeResponse> correlated(String bridgeId, double radiusKm) {
+        if (spatialIndex.site(bridgeId) == null) {
+            return null;
+        }
+        return compare(bridgeId, radiusKm, System.currentTimeMillis());
+    }
+
+    private List<CorrelatedBridgeResponse> compare(String bridgeId, double radiusKm, long atMillis) {
+        List<BridgeSpatialIndex.Neighbour> neighbours = spatialIndex.neighbours(bridgeId, radiusKm);
+        List<CorrelatedBridgeResponse> result = new ArrayList<>(neighbours.size());
+        for (BridgeSpatialIndex.Neighbour neighbour : neighbours) {
+            double vibrationRatio = 0;
+            double strainRatio = 0;
+            RecentReadings readings = recent.get(neighbour.site().bridgeId());
+            if (readings != null) {
+                synchronized (readings) {
+                    vibrationRatio = readings.peak(readings.vibrationRatios, atMillis - windowMillis, atMillis + windowMillis);
+                    strainRatio = readings.peak(readings.strainRatios, atMillis - windowMillis, atMillis + windowMillis);
+                }
+            }
+            result.add(new CorrelatedBridgeResponse(neighbour.site().bridgeId(), neighbour.distanceKm(),
+                    vibrationRatio, strainRatio,
+                    vibrationRatio >= neighbourFactor || strainRatio >= neighbourFactor));
+        }
+        return result;
+    }
+
+    /** Ring of the last readings of one bridge; callers synchronise on it. */
+    static final class RecentReadings {
+        private final long[] times = new long[WINDOW];
+        private final double[] vibrationRatios = new double[WINDOW];
+        private final double[] strainRatios = new double[WINDOW];
+        private int next;
+        private int size;
+
+        private final MovingBaseline vibrationBaseline = new MovingBaseline();
+        private final MovingBaseline strainBaseline = new MovingBaseline();
+        private boolean spiking;
+
+        // true when this reading starts a spike
+        boolean add(long atMillis, double vibration, double strain, double spikeFactor) {
+            double vibrationRatio = ratio(vibration, vibrationBaseline.update(vibration));
+            double strainRatio = ratio(strain, strainBaseline.update(strain));
+
+            times[next] = atMillis;
+            vibrationRatios[next] = vibrationRatio;
+            strainRatios[next] = strainRatio;
+            next = (next + 1) % WINDOW;
+            size = Math.min(size + 1, WINDOW);
+
+            boolean nowSpiking = vibrationRatio >= spikeFactor || strainRatio >= spikeFactor;
+            boolean started = nowSpiking && !spiking;
+            spiking = nowSpiking;
+            return started;
+        }
+
+        double peak(double[] ratios, long fromMillis, long toMillis) {
+            double peak = 0;
+            for (int i = 0; i < size; i++) {
+                if (times[i] >= fromMillis && times[i] <= toMillis) {
+                    peak = Math.max(peak, ratios[i]);
+                }
+            }
+            return peak;
+        }
+
+        private static double ratio(double value, double baseline) {
+            // a flat-zero baseline would make every non-zero reading an infinite spike
+            return Math.abs(value) / Math.max(Math.abs(baseline), MIN_BASELINE);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.app.bridgeQuality.service;
+
+import com.app.bridgeQuality.dto.BridgeResponse;
+import com.app.bridgeQuality.dto.FleetSummaryResponse;
+import com.app.bridgeQuality.entity.Bridge;
+import com.app.bridgeQuality.entity.enums.BridgeStatus;
+import com.app.bridgeQuality.event.BridgeCreatedEvent;
+import com.app.bridgeQuality.event.BridgeStatusChangedEvent;
+import com.app.bridgeQuality.repository.BridgeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * In-memory fleet aggregate behind {@code /api/bridge/summary}. Status counts and
+ * the BQI sum are adjusted in O(1) per bridge change and the worst-bridge ordering
+ * in O(log n), so reads never touch the database. Changes arrive as bridge events
+ * once their transaction commits, possibly out of order, so each bridge keeps the
+ * time of the reading its status came from and older events are dropped. Loaded
+ * from the database on startup, and merged with it periodically in cluster mode
+ * where other nodes also change bridges.
+ */
+@Slf4j
+@Service
+public class FleetSummaryService {
+
+    private static final Comparator<BridgeResponse> WORST_FIRST = Comparator
+            .comparing(BridgeResponse::getBqi, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(BridgeResponse::getId);
+
+    private final BridgeRepository bridgeRepository;
+    private final BridgeService bridgeService;
+    private final boolean clusterEnabled;
+
+    // guarded by this
+    private final Map<String, BridgeResponse> bridges = new HashMap<>();
+    private final TreeSet<BridgeResponse> byBqi = new TreeSet<>(WORST_FIRST);
+    private final Map<String, OffsetDateTime> readingAt = new HashMap<>();
+    private final int[] statusCounts = new int[BridgeStatus.values().length];
+    private long bqiSum;
+    private int bqiCount;
+
+    public FleetSummaryService(BridgeRepository bridgeRepository,
+                               BridgeService bridgeService,
+                               @Value("${bridgeguard.cluster.enabled:false}") boolean clusterEnabled) {
+        this.bridgeRepository = bridgeRepository;
+        this.bridgeService = bridgeService;
+        this.clusterEnabled = clusterEnabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Bridge> all;
+        try {
+            all = bridgeRepository.findAll();
+        } catch (DataAccessException e) {
+            log.warn("Could not rebuild fleet summary: {}", e.getMessage());
+            return;
+        }
+        // a merge, not a swap: events applied since findAll() read its rows must survive
+        synchronized (this) {
+            for (Bridge bridge : all) {
+                BridgeResponse stored = bridgeService.toResponse(bridge);
+                BridgeResponse current = bridges.get(bridge.getId());
+                OffsetDateTime storedAt = bridge.getStatusReadingAt();
+                if (current != null && isOlder(storedAt, readingAt.get(bridge.getId()))) {
+                    stored.setStatus(current.getStatus());
+                    stored.setBqi(current.getBqi());
+                } else if (storedAt != null) {
+                    readingAt.put(bridge.getId(), storedAt);
+                }
+                remove(current);
+                add(stored);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bridgeguard.summary.cluster-refresh-ms:30000}")
+    public void refreshInCluster() {
+        if (clusterEnabled) {
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBridgeCreated(BridgeCreatedEvent event) {
+        // a rebuild may have picked the bridge up already, with a newer status
+        if (!bridges.containsKey(event.bridge().getId())) {
+            add(bridgeService.toResponse(event.bridge()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onStatusChanged(BridgeStatusChangedEvent event) {
+        BridgeResponse current = bridges.get(event.bridgeId());
+        if (current == null || isOlder(event.readingAt(), readingAt.get(event.bridgeId()))) {
+            return;
+        }
+        if (event.readingAt() != null) {
+            readingAt.put(event.bridgeId(), event.readingAt());
+        }
+        remove(current);
+        add(new BridgeResponse(current.getId(), current.getName(), event.status(),
+                current.getLongitude(), current.getLatitude(), event.bqi()));
+    }
+
+    public synchronized FleetSummaryResponse summary(int worst) {
+        Map<BridgeStatus, Integer> byStatus = new EnumMap<>(BridgeStatus.class);
+        for (BridgeStatus status : BridgeStatus.values()) {
+            byStatus.put(status, statusCounts[status.ordinal()]);
+        }
+        List<BridgeResponse> worstBridges = new ArrayList<>(Math.min(worst, byBqi.size()));
+        Iterator<BridgeResponse> it = byBqi.iterator();
+        while (worstBridges.size() < worst && it.hasNext()) {
+            worstBridges.add(it.next());
+        }
+        return new FleetSummaryResponse(bridges.size(), byStatus,
+                bqiCount == 0 ? null : (double) bqiSum / bqiCount, worstBridges);
+    }
+
+    // same rule as BridgeStatusWriter: an equal reading time still applies
+    private static boolean isOlder(OffsetDateTime candidate, OffsetDateTime known) {
+        return known != null && (candidate == null || candidate.isBefore(known));
+    }
+
+    private void add(BridgeResponse bridge) {
+        bridges.put(bridge.getId(), bridge);
+        byBqi.add(bridge);
+        if (bridge.getStatus() != null) {
+            statusCounts[bridge.getStatus().ordinal()]++;
+        }
+        if (bridge.getBqi() != null) {
+            bqiSum += bridge.getBqi();
+            bqiCount++;
+        }
+    }
+
+    private void remove(BridgeResponse bridge) {
+        if (bridge == null) {
+            return;
+        }
+        bridges.remove(bridge.getId());
+        byBqi.remove(bridge);
+        if (bridge.getStatus() != null) {
+            statusCounts[bridge.getStatus().ordinal()]--;
+        }
+        if (bridge.getBqi() != null) {
+            bqiSum -= bridge.getBqi();
+            bqiCount--;
+        }
+    }
+}
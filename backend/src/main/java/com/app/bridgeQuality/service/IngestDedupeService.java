@@ -0,0 +1,434 @@
+package com.app.bridgeQuality.service;
+
+import com.app.bridgeQuality.dto.BridgeHealthLogResponseDTO;
+import com.app.bridgeQuality.dto.SensorReadingBatch;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Makes ingest idempotent for readings that carry a per-bridge sequence number.
+ * <p>
+ * The durable guard is the primary key of {@code ingest_sequence}: a reading is
+ * processed only by whoever inserts its (bridge, sequence) claim. In front of it,
+ * each bridge keeps a high-water mark and a ring of its most recent sequences with
+ * their results, so a retry of a recent reading is answered from memory without
+ * touching the database or the ML model. Completed claims far enough below a
+ * bridge's high-water mark are pruned after a retention period.
+ */
+@Slf4j
+@Service
+public class IngestDedupeService {
+
+    private static final int WINDOW = 256;
+
+    // a claim that was never completed (node died mid-ingest) can be taken over after a while
+    private static final String CLAIM_CONFLICT =
+            "ON CONFLICT (bridge_id, seq) DO UPDATE SET claimed_at = now() "
+                    + "WHERE ingest_sequence.log_id IS NULL "
+                    + "AND ingest_sequence.claimed_at < now() - interval '5 minutes' ";
+
+    private static final String CLAIM =
+            "INSERT INTO ingest_sequence (bridge_id, seq) VALUES (?, ?) " + CLAIM_CONFLICT;
+
+    private static final String CLAIM_BATCH =
+            "INSERT INTO ingest_sequence (bridge_id, seq) "
+                    + "SELECT b, s FROM unnest(?::varchar[], ?::bigint[]) AS t(b, s) "
+                    + CLAIM_CONFLICT + "RETURNING bridge_id, seq";
+
+    private static final String COMPLETE =
+            "UPDATE ingest_sequence SET log_id = ? WHERE bridge_id = ? AND seq = ?";
+
+    private static final String RELEASE =
+            "DELETE FROM ingest_sequence WHERE bridge_id = ? AND seq = ? AND log_id IS NULL";
+
+    private static final String RELEASE_BATCH =
+            "DELETE FROM ingest_sequence USING unnest(?::varchar[], ?::bigint[]) AS t(b, s) "
+                    + "WHERE bridge_id = t.b AND seq = t.s AND log_id IS NULL";
+
+    private static final String COMPLETED_AMONG =
+            "SELECT bridge_id, seq FROM ingest_sequence JOIN unnest(?::varchar[], ?::bigint[]) AS t(b, s) "
+                    + "ON bridge_id = t.b AND seq = t.s WHERE log_id IS NOT NULL";
+
+    private static final String PRUNE =
+            "DELETE FROM ingest_sequence i USING "
+                    + "(SELECT bridge_id, max(seq) AS high FROM ingest_sequence GROUP BY bridge_id) h "
+                    + "WHERE i.bridge_id = h.bridge_id AND i.seq <= h.high - ? AND i.log_id IS NOT NULL "
+                    + "AND i.claimed_at < now() - ? * interval '1 hour'";
+
+    public enum Status { NEW, DUPLICATE, IN_FLIGHT }
+
+    // response is only cached for single-reading ingest; logId is null while in flight
+    public record Claim(Status status, UUID logId, BridgeHealthLogResponseDTO response) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long retentionHours;
+    private final ConcurrentHashMap<String, SequenceWindow> windows = new ConcurrentHashMap<>();
+
+    public IngestDedupeService(JdbcTemplate jdbcTemplate,
+                               @Value("${bridgeguard.ingest.sequence-retention-hours:24}") long retentionHours) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retentionHours = retentionHours;
+    }
+
+    public Claim claim(String bridgeId, long sequence) {
+        SequenceWindow window = window(bridgeId);
+        synchronized (window) {
+            Claim known = window.lookup(sequence);
+            if (known != null) {
+                return known;
+            }
+        }
+
+        if (jdbcTemplate.update(CLAIM, bridgeId, sequence) == 1) {
+            synchronized (window) {
+                window.record(sequence, null, null);
+            }
+            return new Claim(Status.NEW, null, null);
+        }
+
+        List<UUID> logIds = jdbcTemplate.query(
+                "SELECT log_id FROM ingest_sequence WHERE bridge_id = ? AND seq = ?",
+                (rs, i) -> rs.getObject("log_id", UUID.class), bridgeId, sequence);
+        UUID logId = logIds.isEmpty() ? null : logIds.get(0);
+        return new Claim(logId == null ? Status.IN_FLIGHT : Status.DUPLICATE, logId, null);
+    }
+
+    // meant to run inside the transaction that stores the reading
+    public void complete(String bridgeId, long sequence, UUID logId, BridgeHealthLogResponseDTO response) {
+        jdbcTemplate.update(COMPLETE, logId, bridgeId, sequence);
+        afterCommit(() -> remember(bridgeId, sequence, logId, response));
+    }
+
+    public void remember(String bridgeId, long sequence, UUID logId, BridgeHealthLogResponseDTO response) {
+        SequenceWindow window = window(bridgeId);
+        synchronized (window) {
+            window.record(sequence, logId, response);
+        }
+    }
+
+    public void release(String bridgeId, long sequence) {
+        SequenceWindow window = window(bridgeId);
+        synchronized (window) {
+            window.forget(sequence);
+        }
+        jdbcTemplate.update(RELEASE, bridgeId, sequence);
+    }
+
+    /**
+     * Claims every sequenced reading of the batch in one round trip and removes the
+     * readings that were already ingested. Returns the number of readings removed.
+     * A reading that is still being ingested elsewhere fails the whole batch with
+     * {@link IngestInFlightException}, and the claims taken here are given back.
+     */
+    public int claimBatch(SensorReadingBatch batch) {
+        int before = batch.size();
+
+        // repeats inside the batch itself, and recent sequences known in memory
+        Set<String> seen = new HashSet<>();
+        boolean[] known = new boolean[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            if (!batch.hasSequence(i)) {
+                continue;
+            }
+            if (!seen.add(key(batch.bridgeId(i), batch.sequence(i)))) {
+                known[i] = true;
+                continue;
+            }
+            Claim claim;
+            SequenceWindow window = window(batch.bridgeId(i));
+            synchronized (window) {
+                claim = window.lookup(batch.sequence(i));
+            }
+            if (claim != null && claim.status() == Status.IN_FLIGHT) {
+                throw inFlight(batch.bridgeId(i), batch.sequence(i));
+            }
+            known[i] = claim != null;
+        }
+        batch.removeIf(i -> known[i]);
+
+        int[] sequenced = sequencedIndexes(batch);
+        if (sequenced.length == 0) {
+            return before - batch.size();
+        }
+        String[] ids = new String[sequenced.length];
+        Long[] sequences = new Long[sequenced.length];
+        for (int j = 0; j < sequenced.length; j++) {
+            ids[j] = batch.bridgeId(sequenced[j]);
+            sequences[j] = batch.sequence(sequenced[j]);
+        }
+        Set<String> claimed = claimAll(ids, sequences);
+        if (claimed.size() < sequenced.length) {
+            rejectInFlight(ids, sequences, claimed);
+            batch.removeIf(i -> batch.hasSequence(i)
+                    && !claimed.contains(key(batch.bridgeId(i), batch.sequence(i))));
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.hasSequence(i)) {
+                SequenceWindow window = window(batch.bridgeId(i));
+                synchronized (window) {
+                    window.record(batch.sequence(i), null, null);
+                }
+            }
+        }
+        return before - batch.size();
+    }
+
+    // only a stored reading is a duplicate; anything else not claimed is in flight, or was
+    // released just now, and the batch has to be retried
+    private void rejectInFlight(String[] ids, Long[] sequences, Set<String> claimed) {
+        List<String> otherIds = new ArrayList<>();
+        List<Long> otherSequences = new ArrayList<>();
+        for (int j = 0; j < ids.length; j++) {
+            if (!claimed.contains(key(ids[j], sequences[j]))) {
+                otherIds.add(ids[j]);
+                otherSequences.add(sequences[j]);
+            }
+        }
+        Set<String> completed = completedAmong(otherIds.toArray(String[]::new), otherSequences.toArray(Long[]::new));
+        for (int j = 0; j < otherIds.size(); j++) {
+            if (!completed.contains(key(otherIds.get(j), otherSequences.get(j)))) {
+                List<String> claimedIds = new ArrayList<>();
+                List<Long> claimedSequences = new ArrayList<>();
+                for (int k = 0; k < ids.length; k++) {
+                    if (claimed.contains(key(ids[k], sequences[k]))) {
+                        claimedIds.add(ids[k]);
+                        claimedSequences.add(sequences[k]);
+                    }
+                }
+                if (!claimedIds.isEmpty()) {
+                    releaseAll(claimedIds.toArray(String[]::new), claimedSequences.toArray(Long[]::new));
+                }
+                throw inFlight(otherIds.get(j), otherSequences.get(j));
+            }
+        }
+    }
+
+    // meant to run inside the transaction that inserts the readings
+    public void completeBatch(SensorReadingBatch batch, UUID[] logIds) {
+        int[] sequenced = sequencedIndexes(batch);
+        if (sequenced.length == 0) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(COMPLETE, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                int reading = sequenced[i];
+                ps.setObject(1, logIds[reading]);
+                ps.setString(2, batch.bridgeId(reading));
+                ps.setLong(3, batch.sequence(reading));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return sequenced.length;
+            }
+        });
+        // the batch is cleared once the request ends, copy what memory needs now
+        String[] ids = new String[sequenced.length];
+        long[] sequences = new long[sequenced.length];
+        UUID[] completed = new UUID[sequenced.length];
+        for (int j = 0; j < sequenced.length; j++) {
+            ids[j] = batch.bridgeId(sequenced[j]);
+            sequences[j] = batch.sequence(sequenced[j]);
+            completed[j] = logIds[sequenced[j]];
+        }
+        afterCommit(() -> {
+            for (int j = 0; j < ids.length; j++) {
+                remember(ids[j], sequences[j], completed[j], null);
+            }
+        });
+    }
+
+    // memory must never call a reading stored before its transaction has committed:
+    // a retry answered from it in between would be lost if the commit then failed
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public void releaseBatch(SensorReadingBatch batch) {
+        int[] sequenced = sequencedIndexes(batch);
+        if (sequenced.length == 0) {
+            return;
+        }
+        String[] ids = new String[sequenced.length];
+        Long[] sequences = new Long[sequenced.length];
+        for (int j = 0; j < sequenced.length; j++) {
+            ids[j] = batch.bridgeId(sequenced[j]);
+            sequences[j] = batch.sequence(sequenced[j]);
+            SequenceWindow window = window(ids[j]);
+            synchronized (window) {
+                window.forget(sequences[j]);
+            }
+        }
+        releaseAll(ids, sequences);
+    }
+
+    /**
+     * Drops completed claims that are both older than the retention and more than a
+     * window below their bridge's high-water mark; the newest claims of every bridge
+     * always stay, so a gateway's recent retries are still recognised.
+     */
+    @Scheduled(fixedDelayString = "${bridgeguard.ingest.sequence-prune-ms:3600000}",
+            initialDelayString = "${bridgeguard.ingest.sequence-prune-ms:3600000}")
+    public void pruneCompleted() {
+        try {
+            int pruned = jdbcTemplate.update(PRUNE, WINDOW, retentionHours);
+            if (pruned > 0) {
+                log.debug("Pruned {} completed ingest sequences", pruned);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not prune ingest_sequence: {}", e.getMessage());
+        }
+    }
+
+    // returns the (bridge, sequence) keys this call inserted or took over
+    Set<String> claimAll(String[] ids, Long[] sequences) {
+        return queryKeys(CLAIM_BATCH, ids, sequences);
+    }
+
+    Set<String> completedAmong(String[] ids, Long[] sequences) {
+        return queryKeys(COMPLETED_AMONG, ids, sequences);
+    }
+
+    void releaseAll(String[] ids, Long[] sequences) {
+        jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            Array idArray = connection.createArrayOf("varchar", ids);
+            Array sequenceArray = connection.createArrayOf("bigint", sequences);
+            try (PreparedStatement ps = connection.prepareStatement(RELEASE_BATCH)) {
+                ps.setArray(1, idArray);
+                ps.setArray(2, sequenceArray);
+                return ps.executeUpdate();
+            } finally {
+                idArray.free();
+                sequenceArray.free();
+            }
+        });
+    }
+
+    private Set<String> queryKeys(String sql, String[] ids, Long[] sequences) {
+        return jdbcTemplate.execute((ConnectionCallback<Set<String>>) connection -> {
+            Array idArray = connection.createArrayOf("varchar", ids);
+            Array sequenceArray = connection.createArrayOf("bigint", sequences);
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                ps.setArray(1, idArray);
+                ps.setArray(2, sequenceArray);
+                Set<String> keys = new HashSet<>();
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        keys.add(key(rs.getString(1), rs.getLong(2)));
+                    }
+                }
+                return keys;
+            } finally {
+                idArray.free();
+                sequenceArray.free();
+            }
+        });
+    }
+
+    static String key(String bridgeId, long sequence) {
+        return bridgeId + '\u0000' + sequence;
+    }
+
+    static IngestInFlightException inFlight(String bridgeId, long sequence) {
+        return new IngestInFlightException(
+                "Reading " + sequence + " of " + bridgeId + " is already being ingested");
+    }
+
+    private static int[] sequencedIndexes(SensorReadingBatch batch) {
+        int count = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.hasSequence(i)) {
+                count++;
+            }
+        }
+        int[] indexes = new int[count];
+        for (int i = 0, j = 0; i < batch.size(); i++) {
+            if (batch.hasSequence(i)) {
+                indexes[j++] = i;
+            }
+        }
+        return indexes;
+    }
+
+    private SequenceWindow window(String bridgeId) {
+        return windows.computeIfAbsent(bridgeId, id -> new SequenceWindow());
+    }
+
+    /** Recent sequences of one bridge; callers synchronise on the window. */
+    static final class SequenceWindow {
+        private long highWater = Long.MIN_VALUE;
+        private final long[] sequences = new long[WINDOW];
+        private final boolean[] used = new boolean[WINDOW];
+        private final UUID[] logIds = new UUID[WINDOW];
+        private final BridgeHealthLogResponseDTO[] responses = new BridgeHealthLogResponseDTO[WINDOW];
+
+        // null when memory cannot tell, the database decides then
+        Claim lookup(long sequence) {
+            if (highWater == Long.MIN_VALUE || sequence > highWater || sequence <= highWater - WINDOW) {
+                return null;
+            }
+            int slot = slot(sequence);
+            if (!used[slot] || sequences[slot] != sequence) {
+                return null;
+            }
+            return logIds[slot] == null
+                    ? new Claim(Status.IN_FLIGHT, null, null)
+                    : new Claim(Status.DUPLICATE, logIds[slot], responses[slot]);
+        }
+
+        void record(long sequence, UUID logId, BridgeHealthLogResponseDTO response) {
+            if (highWater != Long.MIN_VALUE && sequence <= highWater - WINDOW) {
+                return;
+            }
+            highWater = Math.max(highWater, sequence);
+            int slot = slot(sequence);
+            used[slot] = true;
+            sequences[slot] = sequence;
+            logIds[slot] = logId;
+            responses[slot] = response;
+        }
+
+        void forget(long sequence) {
+            int slot = slot(sequence);
+            if (used[slot] && sequences[slot] == sequence) {
+                used[slot] = false;
+                logIds[slot] = null;
+                responses[slot] = null;
+            }
+        }
+
+        private static int slot(long sequence) {
+            return (int) Math.floorMod(sequence, (long) WINDOW);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.app.bridgeQuality.service;
+
+import java.io.Serial;
+
+/**
+ * A sequenced reading is claimed by an ingest that has not finished yet; the caller
+ * should retry later, when the reading is either stored or released again.
+ */
+public class IngestInFlightException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public IngestInFlightException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,10 @@
 package com.app.bridgeQuality.service;
 
+import com.app.bridgeQuality.dto.MLBatchRequestDTO;
+import com.app.bridgeQuality.dto.MLBatchResponseDTO;
 import com.app.bridgeQuality.dto.MLRequestDTO;
 import com.app.bridgeQuality.dto.MLResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
@@ -11,8 +14,37 @@ public class MLService {
     private final RestTemplate restTemplate = new RestTemplate();
 //    endpoint to reach the ML model
     private static final String ML_ENDPOINT = "http://localhost:5000/predict";
+    private static final String ML_BATCH_ENDPOINT = "http://localhost:5000/predict/batch";
+
+    private final String modelVersion;
+
+    public MLService(@Value("${bridgeguard.ml.model-version:1}") String modelVersion) {
+        this.modelVersion = modelVersion;
+    }
+
+    // version of the model served at ML_ENDPOINT, recorded on every ML output row
+    public String modelVersion() {
+        return modelVersion;
+    }
 
     public MLResponseDTO sendToModel(MLRequestDTO requestDTO) {
         return restTemplate.postForObject(ML_ENDPOINT, requestDTO, MLResponseDTO.class);
     }
+
+    // one round trip and one model call for the whole batch, results in input order
+    public MLBatchResponseDTO sendBatchToModel(MLBatchRequestDTO requestDTO) {
+        MLBatchResponseDTO response = restTemplate.postForObject(ML_BATCH_ENDPOINT, requestDTO, MLBatchResponseDTO.class);
+        requireComplete(response, requestDTO.getStrain_microstrain().length);
+        return response;
+    }
+
+    // every result array is indexed per reading, a short one must fail before anything is stored
+    static void requireComplete(MLBatchResponseDTO response, int size) {
+        if (response == null
+                || response.getHealthIndex() == null || response.getHealthIndex().length != size
+                || response.getHealthState() == null || response.getHealthState().length != size
+                || response.getRecommendedAction() == null || response.getRecommendedAction().length != size) {
+            throw new IllegalStateException("ML model returned an incomplete batch");
+        }
+    }
 }
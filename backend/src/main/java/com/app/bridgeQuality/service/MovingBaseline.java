@@ -0,0 +1,31 @@
+package com.app.bridgeQuality.service;
+
+/**
+ * Exponential moving average of one signal, seeded with its first reading. Used as
+ * the "normal" level that spike detection compares readings against; callers
+ * synchronise access.
+ */
+final class MovingBaseline {
+
+    // weight of the newest reading in the baseline
+    static final double ALPHA = 0.05;
+
+    private double value;
+    private boolean seeded;
+
+    boolean seeded() {
+        return seeded;
+    }
+
+    // folds the reading in and returns the baseline it should be compared against
+    double update(double reading) {
+        if (!seeded) {
+            value = reading;
+            seeded = true;
+            return reading;
+        }
+        double before = value;
+        value += ALPHA * (reading - before);
+        return before;
+    }
+}
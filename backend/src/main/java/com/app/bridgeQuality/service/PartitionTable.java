@@ -0,0 +1,84 @@
+package com.app.bridgeQuality.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable bridgeId-to-node assignment. Bridge ids hash into a fixed number of
+ * partitions, and partitions are placed on a consistent-hash ring of the live
+ * nodes, so a join or leave only moves the partitions next to that node.
+ * Every node computes the same table from the same member list.
+ */
+final class PartitionTable {
+
+    static final int PARTITIONS = 271;
+    private static final int VIRTUAL_NODES = 64;
+
+    record Member(String nodeId, String baseUrl) {
+    }
+
+    private final List<Member> members;
+    private final Member[] owners = new Member[PARTITIONS];
+
+    PartitionTable(List<Member> members) {
+        this.members = List.copyOf(members);
+        if (members.isEmpty()) {
+            return;
+        }
+
+        long[] points = new long[members.size() * VIRTUAL_NODES];
+        Member[] pointOwners = new Member[points.length];
+        Integer[] order = new Integer[points.length];
+        for (int m = 0; m < members.size(); m++) {
+            for (int v = 0; v < VIRTUAL_NODES; v++) {
+                int i = m * VIRTUAL_NODES + v;
+                points[i] = hash(members.get(m).nodeId() + "#" + v);
+                pointOwners[i] = members.get(m);
+                order[i] = i;
+            }
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(points[a], points[b]));
+        long[] ring = new long[points.length];
+        Member[] ringOwners = new Member[points.length];
+        for (int i = 0; i < order.length; i++) {
+            ring[i] = points[order[i]];
+            ringOwners[i] = pointOwners[order[i]];
+        }
+
+        for (int p = 0; p < PARTITIONS; p++) {
+            int slot = Arrays.binarySearch(ring, hash("partition-" + p));
+            if (slot < 0) {
+                slot = -slot - 1;
+            }
+            owners[p] = ringOwners[slot == ring.length ? 0 : slot];
+        }
+    }
+
+    List<Member> members() {
+        return members;
+    }
+
+    // null while no node has registered yet
+    Member ownerOf(String bridgeId) {
+        return owners[partitionOf(bridgeId)];
+    }
+
+    static int partitionOf(String bridgeId) {
+        return (int) Long.remainderUnsigned(hash(bridgeId), PARTITIONS);
+    }
+
+    // FNV-1a with a final avalanche step: stable across nodes and well spread for
+    // near-identical ids like BRIDGE-001 / BRIDGE-002
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
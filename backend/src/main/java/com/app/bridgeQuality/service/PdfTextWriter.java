@@ -0,0 +1,135 @@
+package com.app.bridgeQuality.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming PDF writer for monospaced text reports. Each page is flushed
+ * to the output as soon as it is full; only byte offsets are kept for the
+ * cross-reference table written at the end.
+ */
+class PdfTextWriter implements AutoCloseable {
+
+    // A4 landscape, in points
+    private static final int PAGE_WIDTH = 842;
+    private static final int PAGE_HEIGHT = 595;
+    private static final int MARGIN = 36;
+    private static final int FONT_SIZE = 8;
+    private static final int LEADING = 10;
+    private static final int LINES_PER_PAGE = (PAGE_HEIGHT - 2 * MARGIN) / LEADING;
+
+    // objects 1-3 are fixed; the page tree (2) is written last once all kids are known
+    private static final int CATALOG = 1;
+    private static final int PAGES = 2;
+    private static final int FONT = 3;
+
+    private final OutputStream out;
+    private final List<Long> offsets = new ArrayList<>(List.of(0L, 0L, 0L));
+    private final List<Integer> pageObjects = new ArrayList<>();
+    private final StringBuilder page = new StringBuilder();
+    private long written;
+    private int linesOnPage;
+
+    PdfTextWriter(OutputStream out) throws IOException {
+        this.out = out;
+        write("%PDF-1.4\n");
+        beginObject(CATALOG);
+        write("<< /Type /Catalog /Pages " + PAGES + " 0 R >>\nendobj\n");
+        beginObject(FONT);
+        write("<< /Type /Font /Subtype /Type1 /BaseFont /Courier >>\nendobj\n");
+    }
+
+    void println(String line) throws IOException {
+        if (linesOnPage == LINES_PER_PAGE) {
+            flushPage();
+        }
+        page.append('(').append(escape(line)).append(") Tj T*\n");
+        linesOnPage++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (linesOnPage > 0 || pageObjects.isEmpty()) {
+            flushPage();
+        }
+
+        beginObject(PAGES);
+        StringBuilder kids = new StringBuilder();
+        for (int pageObject : pageObjects) {
+            kids.append(pageObject).append(" 0 R ");
+        }
+        write("<< /Type /Pages /Kids [" + kids + "] /Count " + pageObjects.size() + " >>\nendobj\n");
+
+        long xref = written;
+        StringBuilder table = new StringBuilder();
+        table.append("xref\n0 ").append(offsets.size() + 1).append('\n');
+        table.append("0000000000 65535 f \n");
+        for (long offset : offsets) {
+            table.append(String.format("%010d 00000 n \n", offset));
+        }
+        table.append("trailer\n<< /Size ").append(offsets.size() + 1)
+                .append(" /Root ").append(CATALOG).append(" 0 R >>\n")
+                .append("startxref\n").append(xref).append("\n%%EOF\n");
+        write(table.toString());
+        out.flush();
+    }
+
+    private void flushPage() throws IOException {
+        String content = "BT /F1 " + FONT_SIZE + " Tf " + LEADING + " TL "
+                + MARGIN + " " + (PAGE_HEIGHT - MARGIN) + " Td\n" + page + "ET\n";
+        byte[] bytes = content.getBytes(StandardCharsets.ISO_8859_1);
+
+        int contentObject = nextObject();
+        write("<< /Length " + bytes.length + " >>\nstream\n");
+        write(bytes);
+        write("\nendstream\nendobj\n");
+
+        int pageObject = nextObject();
+        write("<< /Type /Page /Parent " + PAGES + " 0 R /MediaBox [0 0 " + PAGE_WIDTH + " " + PAGE_HEIGHT + "] "
+                + "/Resources << /Font << /F1 " + FONT + " 0 R >> >> /Contents " + contentObject + " 0 R >>\nendobj\n");
+        pageObjects.add(pageObject);
+
+        page.setLength(0);
+        linesOnPage = 0;
+        out.flush();
+    }
+
+    private int nextObject() throws IOException {
+        offsets.add(0L);
+        int number = offsets.size();
+        beginObject(number);
+        return number;
+    }
+
+    private void beginObject(int number) throws IOException {
+        offsets.set(number - 1, written);
+        write(number + " 0 obj\n");
+    }
+
+    private void write(String text) throws IOException {
+        write(text.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        out.write(bytes);
+        written += bytes.length;
+    }
+
+    private static String escape(String line) {
+        StringBuilder escaped = new StringBuilder(line.length());
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '(' || c == ')' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 32 || c > 126) {
+                escaped.append('?');
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
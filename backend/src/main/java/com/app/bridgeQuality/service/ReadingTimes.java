@@ -0,0 +1,28 @@
+package com.app.bridgeQuality.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Guards gateway-supplied reading times. A bridge keeps the status of its newest
+ * reading (see {@link BridgeStatusWriter}), so a single timestamp from the future
+ * would hold back every later reading taken on server time.
+ */
+final class ReadingTimes {
+
+    // gateway clocks may run slightly ahead of ours
+    static final Duration MAX_SKEW = Duration.ofSeconds(2);
+
+    private ReadingTimes() {
+    }
+
+    // null stays null (server time); anything further ahead than MAX_SKEW becomes now
+    static OffsetDateTime notInFuture(OffsetDateTime recordedAt, Instant now) {
+        if (recordedAt == null || !recordedAt.toInstant().isAfter(now.plus(MAX_SKEW))) {
+            return recordedAt;
+        }
+        return OffsetDateTime.ofInstant(now, ZoneOffset.UTC);
+    }
+}
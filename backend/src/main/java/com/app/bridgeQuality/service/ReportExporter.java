@@ -0,0 +1,100 @@
+package com.app.bridgeQuality.service;
+
+import com.app.bridgeQuality.dto.BridgeReport;
+import com.app.bridgeQuality.entity.enums.BridgeStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes fleet reports row by row straight to the response stream.
+ */
+@Component
+public class ReportExporter {
+
+    public void writeCsv(List<BridgeReport> reports, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("bridge_id,name,status,bqi,readings,first_bqi,last_bqi,bqi_trend,min_bqi,avg_bqi");
+        for (BridgeStatus status : BridgeStatus.values()) {
+            writer.write(",seconds_" + status.name().toLowerCase(Locale.ROOT));
+        }
+        writer.write(",min_strain_microstrain,max_strain_microstrain,min_vibration_ms2,max_vibration_ms2"
+                + ",min_temperature_c,max_temperature_c,min_humidity_percent,max_humidity_percent\n");
+
+        for (BridgeReport r : reports) {
+            writer.write(String.join(",",
+                    csv(r.getBridgeId()), csv(r.getName()), csv(r.getCurrentStatus()), csv(r.getCurrentBqi()),
+                    csv(r.getReadings()), csv(r.getFirstBqi()), csv(r.getLastBqi()), csv(r.getBqiTrend()),
+                    csv(r.getMinBqi()), csv(r.getAvgBqi())));
+            for (BridgeStatus status : BridgeStatus.values()) {
+                writer.write(',');
+                writer.write(csv(r.getSecondsInStatus().get(status)));
+            }
+            writer.write(',');
+            writer.write(String.join(",",
+                    csv(r.getMinStrainMicrostrain()), csv(r.getMaxStrainMicrostrain()),
+                    csv(r.getMinVibrationMs2()), csv(r.getMaxVibrationMs2()),
+                    csv(r.getMinTemperatureC()), csv(r.getMaxTemperatureC()),
+                    csv(r.getMinHumidityPercent()), csv(r.getMaxHumidityPercent())));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    public void writePdf(List<BridgeReport> reports, OffsetDateTime from, OffsetDateTime to,
+                         OutputStream out) throws IOException {
+        try (PdfTextWriter pdf = new PdfTextWriter(out)) {
+            pdf.println("BridgeGuard fleet report  " + from + "  to  " + to);
+            pdf.println(reports.size() + " bridges, worst current BQI first");
+            pdf.println("");
+            String header = String.format("%-12s %-20s %-9s %4s %8s %5s %6s %8s %8s %8s",
+                    "BRIDGE", "NAME", "STATUS", "BQI", "READINGS", "TREND", "MINBQI",
+                    "MAXSTRN", "MAXVIB", "CRIT(h)");
+            pdf.println(header);
+            pdf.println("-".repeat(header.length()));
+            for (BridgeReport r : reports) {
+                Long critical = r.getSecondsInStatus().get(BridgeStatus.CRITICAL);
+                pdf.println(String.format("%-12s %-20s %-9s %4s %8d %5s %6s %8s %8s %8s",
+                        truncate(r.getBridgeId(), 12), truncate(r.getName(), 20),
+                        text(r.getCurrentStatus()), text(r.getCurrentBqi()), r.getReadings(),
+                        text(r.getBqiTrend()), text(r.getMinBqi()),
+                        decimal(r.getMaxStrainMicrostrain()), decimal(r.getMaxVibrationMs2()),
+                        critical == null ? "-" : String.format(Locale.ROOT, "%.1f", critical / 3600.0)));
+            }
+        }
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    private static String text(Object value) {
+        return value == null ? "-" : value.toString();
+    }
+
+    private static String decimal(Double value) {
+        return value == null ? "-" : String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    private static String truncate(String value, int length) {
+        if (value == null) {
+            return "-";
+        }
+        return value.length() <= length ? value : value.substring(0, length);
+    }
+}
@@ -0,0 +1,183 @@
+package com.app.bridgeQuality.service;
+
+import com.app.bridgeQuality.dto.BridgeReport;
+import com.app.bridgeQuality.entity.Bridge;
+import com.app.bridgeQuality.entity.enums.BridgeStatus;
+import com.app.bridgeQuality.repository.BridgeRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Fleet-wide report engine. Bridges are aggregated in parallel on a dedicated
+ * fork-join pool; each bridge is a single streaming scan of its sensor and ML
+ * logs, so memory stays at one small accumulator per bridge.
+ */
+@Service
+public class ReportService {
+
+    private static final String BRIDGE_HISTORY =
+            "SELECT h.created_at, h.strain_microstrain, h.vibration_ms2, h.temperature_c, h.humidity_percent, "
+                    + "m.health_index, m.health_state "
+                    // a reading may have been scored by several model versions, the newest scoring wins
+                    + "FROM bridge_health_log h LEFT JOIN LATERAL ("
+                    + "SELECT health_index, health_state FROM ml_output_log "
+                    + "WHERE bridge_log_ref = h.id ORDER BY created_at DESC LIMIT 1) m ON true "
+                    + "WHERE h.bridge_id = ? AND h.created_at >= ? AND h.created_at < ? "
+                    + "ORDER BY h.created_at";
+
+    private static final Comparator<BridgeReport> WORST_FIRST = Comparator
+            .comparing(BridgeReport::getCurrentBqi, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(BridgeReport::getBridgeId);
+
+    private final BridgeRepository bridgeRepository;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ForkJoinPool pool;
+
+    public ReportService(BridgeRepository bridgeRepository,
+                         DataSource dataSource,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${bridgeguard.report.parallelism:4}") int parallelism,
+                         @Value("${bridgeguard.report.fetch-size:1000}") int fetchSize) {
+        this.bridgeRepository = bridgeRepository;
+        // Postgres only streams with a fetch size inside a transaction
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // keep parallelism below the connection pool size, every worker holds a connection
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    // reports sorted worst-first by current BQI
+    public List<BridgeReport> buildFleetReport(OffsetDateTime from, OffsetDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Report start must be before its end");
+        }
+        List<Bridge> bridges = bridgeRepository.findAll();
+        return pool.submit(() -> bridges.parallelStream()
+                        .map(bridge -> aggregate(bridge, from, to))
+                        .sorted(WORST_FIRST)
+                        .toList())
+                .join();
+    }
+
+    private BridgeReport aggregate(Bridge bridge, OffsetDateTime from, OffsetDateTime to) {
+        Accumulator acc = new Accumulator();
+        readOnlyTransaction.executeWithoutResult(status ->
+                streamingJdbcTemplate.query(BRIDGE_HISTORY, rs -> {
+                    int bqi = rs.getInt("health_index");
+                    boolean scored = !rs.wasNull();
+                    acc.add(rs.getObject("created_at", OffsetDateTime.class),
+                            rs.getDouble("strain_microstrain"),
+                            rs.getDouble("vibration_ms2"),
+                            rs.getDouble("temperature_c"),
+                            rs.getDouble("humidity_percent"),
+                            scored ? bqi : null,
+                            scored ? rs.getString("health_state") : null);
+                }, bridge.getId(), from, to));
+
+        OffsetDateTime now = OffsetDateTime.now();
+        return acc.toReport(bridge, to.isBefore(now) ? to : now);
+    }
+
+    static final class Accumulator {
+        private long readings;
+        private double minStrain = Double.POSITIVE_INFINITY, maxStrain = Double.NEGATIVE_INFINITY;
+        private double minVibration = Double.POSITIVE_INFINITY, maxVibration = Double.NEGATIVE_INFINITY;
+        private double minTemperature = Double.POSITIVE_INFINITY, maxTemperature = Double.NEGATIVE_INFINITY;
+        private double minHumidity = Double.POSITIVE_INFINITY, maxHumidity = Double.NEGATIVE_INFINITY;
+
+        private long scored;
+        private long bqiSum;
+        private int minBqi = Integer.MAX_VALUE;
+        private Integer firstBqi;
+        private Integer lastBqi;
+
+        private final long[] secondsInStatus = new long[BridgeStatus.values().length];
+        private BridgeStatus lastStatus;
+        private OffsetDateTime lastStatusAt;
+
+        void add(OffsetDateTime at, double strain, double vibration, double temperature, double humidity,
+                 Integer bqi, String healthState) {
+            readings++;
+            minStrain = Math.min(minStrain, strain);
+            maxStrain = Math.max(maxStrain, strain);
+            minVibration = Math.min(minVibration, vibration);
+            maxVibration = Math.max(maxVibration, vibration);
+            minTemperature = Math.min(minTemperature, temperature);
+            maxTemperature = Math.max(maxTemperature, temperature);
+            minHumidity = Math.min(minHumidity, humidity);
+            maxHumidity = Math.max(maxHumidity, humidity);
+
+            if (bqi == null) {
+                return;
+            }
+            scored++;
+            bqiSum += bqi;
+            minBqi = Math.min(minBqi, bqi);
+            if (firstBqi == null) {
+                firstBqi = bqi;
+            }
+            lastBqi = bqi;
+
+            // a status holds from its reading until the next scored reading
+            closeStatusInterval(at);
+            lastStatus = BridgeStatus.valueOf(BridgeHealthService.mapHealthStateToBridgeStatus(healthState));
+            lastStatusAt = at;
+        }
+
+        private void closeStatusInterval(OffsetDateTime until) {
+            if (lastStatus != null) {
+                secondsInStatus[lastStatus.ordinal()] += Math.max(0, Duration.between(lastStatusAt, until).toSeconds());
+            }
+        }
+
+        BridgeReport toReport(Bridge bridge, OffsetDateTime end) {
+            closeStatusInterval(end);
+
+            BridgeReport report = new BridgeReport();
+            report.setBridgeId(bridge.getId());
+            report.setName(bridge.getName());
+            report.setCurrentStatus(bridge.getStatus());
+            report.setCurrentBqi(bridge.getBqi());
+            report.setReadings(readings);
+            for (BridgeStatus status : BridgeStatus.values()) {
+                report.getSecondsInStatus().put(status, secondsInStatus[status.ordinal()]);
+            }
+            if (scored > 0) {
+                report.setFirstBqi(firstBqi);
+                report.setLastBqi(lastBqi);
+                report.setMinBqi(minBqi);
+                report.setAvgBqi((double) bqiSum / scored);
+            }
+            if (readings > 0) {
+                report.setMinStrainMicrostrain(minStrain);
+                report.setMaxStrainMicrostrain(maxStrain);
+                report.setMinVibrationMs2(minVibration);
+                report.setMaxVibrationMs2(maxVibration);
+                report.setMinTemperatureC(minTemperature);
+                report.setMaxTemperatureC(maxTemperature);
+                report.setMinHumidityPercent(minHumidity);
+                report.setMaxHumidityPercent(maxHumidity);
+            }
+            return report;
+        }
+    }
+}
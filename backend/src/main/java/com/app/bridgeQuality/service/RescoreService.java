@@ -0,0 +1,460 @@
+package com.app.bridgeQuality.service;
+
+import com.app.bridgeQuality.dto.MLBatchResponseDTO;
+import com.app.bridgeQuality.dto.RescoreStatusResponse;
+import com.app.bridgeQuality.dto.SensorReadingBatch;
+import com.app.bridgeQuality.entity.enums.RescoreJobStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Re-scores the sensor history with the model currently served by {@link MLService}
+ * and stores the results as new {@code ml_output_log} rows tagged with a model
+ * version; the newest scoring of a reading is the one reports use.
+ * <p>
+ * One reader thread pages through {@code bridge_health_log} in (created_at, id)
+ * keyset order and hands each page to a small worker pool that scores it with a
+ * single batch call and writes it with a JDBC batch insert. Workers finish out of
+ * order, so the checkpoint in {@code rescore_job} only advances past pages that
+ * are done together with everything before them. A paused, failed or interrupted
+ * job resumes from there; pages after the checkpoint may be scored again but are
+ * never stored twice.
+ * <p>
+ * While the job runs, a heartbeat keeps {@code updated_at} fresh so other nodes
+ * only take it over once this node stops.
+ * <p>
+ * Live ingest is protected by the bounded worker pool, which caps the connections
+ * and ML calls the job holds, and by an optional rows-per-second limit.
+ */
+@Slf4j
+@Service
+public class RescoreService {
+
+    private static final String JOB_COLUMNS =
+            "id, model_version, status, upto, cursor_created_at, cursor_id, processed, total, error, started_at, updated_at";
+
+    // a RUNNING job whose heartbeat stopped belongs to a node that went away
+    private static final String CLAIM_JOB =
+            "UPDATE rescore_job SET status = 'RUNNING', error = NULL, updated_at = now() "
+                    + "WHERE id = ? AND (status <> 'RUNNING' OR updated_at < now() - interval '2 minutes')";
+
+    private static final String FIRST_PAGE =
+            "SELECT id, bridge_id, strain_microstrain, vibration_ms2, temperature_c, humidity_percent, created_at "
+                    + "FROM bridge_health_log WHERE created_at <= ? ORDER BY created_at, id LIMIT ?";
+    private static final String NEXT_PAGE =
+            "SELECT id, bridge_id, strain_microstrain, vibration_ms2, temperature_c, humidity_percent, created_at "
+                    + "FROM bridge_health_log WHERE (created_at, id) > (?, ?) AND created_at <= ? "
+                    + "ORDER BY created_at, id LIMIT ?";
+
+    // skips readings already stored for this version, which only happens when a page is redone after a resume
+    private static final String INSERT_ML_LOG =
+            "INSERT INTO ml_output_log (id, bridge_log_ref, health_index, health_state, recommended_action, model_version, created_at) "
+                    + "SELECT ?, ?, ?, ?, ?, ?, now() WHERE NOT EXISTS ("
+                    + "SELECT 1 FROM ml_output_log WHERE bridge_log_ref = ? AND model_version = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MLService mlService;
+    private final int batchSize;
+    private final int parallelism;
+    private final int maxRowsPerSecond;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter rowsCounter;
+    private final Timer batchTimer;
+
+    private final AtomicReference<Run> current = new AtomicReference<>();
+
+    public RescoreService(JdbcTemplate jdbcTemplate,
+                          MLService mlService,
+                          MeterRegistry meterRegistry,
+                          @Value("${bridgeguard.rescore.batch-size:2000}") int batchSize,
+                          @Value("${bridgeguard.rescore.parallelism:4}") int parallelism,
+                          @Value("${bridgeguard.rescore.max-rows-per-second:0}") int maxRowsPerSecond) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mlService = mlService;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.maxRowsPerSecond = maxRowsPerSecond;
+
+        this.meterRegistry = meterRegistry;
+        this.rowsCounter = Counter.builder("bridgeguard.rescore.rows")
+                .description("Sensor readings re-scored")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("bridgeguard.rescore.batch")
+                .description("Time to score and store one page of readings")
+                .register(meterRegistry);
+    }
+
+    // the gauge holds on to this service, so it is only handed out once construction is done
+    @PostConstruct
+    void registerProgressGauge() {
+        Gauge.builder("bridgeguard.rescore.progress", this, RescoreService::progress)
+                .description("Fraction of the running job's readings checkpointed")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        Run run = current.get();
+        if (run != null) {
+            run.pauseRequested = true;
+            run.reader.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    /**
+     * Starts re-scoring with the model version {@link MLService} serves, or resumes
+     * that version's unfinished job. Only one job runs at a time.
+     */
+    public synchronized RescoreStatusResponse start() {
+        String modelVersion = mlService.modelVersion();
+        if (modelVersion == null || modelVersion.isBlank()) {
+            throw new IllegalStateException("No model version configured (bridgeguard.ml.model-version)");
+        }
+        if (current.get() != null) {
+            throw new IllegalStateException("A re-scoring job is already running on this node");
+        }
+
+        List<RescoreStatusResponse> unfinished = jdbcTemplate.query(
+                "SELECT " + JOB_COLUMNS + " FROM rescore_job WHERE model_version = ? AND status <> 'DONE' "
+                        + "ORDER BY id DESC LIMIT 1",
+                JOB_ROW, modelVersion);
+        long jobId = unfinished.isEmpty()
+                ? jdbcTemplate.queryForObject(
+                        "INSERT INTO rescore_job (model_version, status, upto) VALUES (?, 'PAUSED', now()) RETURNING id",
+                        Long.class, modelVersion)
+                : unfinished.get(0).getJobId();
+        if (jdbcTemplate.update(CLAIM_JOB, jobId) == 0) {
+            throw new IllegalStateException("Re-scoring job " + jobId + " is running on another node");
+        }
+
+        Map<String, Object> job = jdbcTemplate.queryForMap(
+                "SELECT upto, cursor_created_at, cursor_id, processed FROM rescore_job WHERE id = ?", jobId);
+        OffsetDateTime upto = (OffsetDateTime) job.get("upto");
+        Cursor checkpoint = job.get("cursor_id") == null ? null
+                : new Cursor((OffsetDateTime) job.get("cursor_created_at"), (UUID) job.get("cursor_id"));
+        long processed = ((Number) job.get("processed")).longValue();
+
+        // one count per (re)start so progress is meaningful; the range is fixed by upto
+        long remaining = checkpoint == null
+                ? jdbcTemplate.queryForObject(
+                        "SELECT count(*) FROM bridge_health_log WHERE created_at <= ?", Long.class, upto)
+                : jdbcTemplate.queryForObject(
+                        "SELECT count(*) FROM bridge_health_log WHERE (created_at, id) > (?, ?) AND created_at <= ?",
+                        Long.class, checkpoint.createdAt(), checkpoint.id(), upto);
+        long total = processed + remaining;
+        jdbcTemplate.update("UPDATE rescore_job SET total = ? WHERE id = ?", total, jobId);
+
+        Run run = new Run(jobId, modelVersion, upto, checkpoint, processed, total);
+        run.reader = new Thread(() -> execute(run), "rescore-" + jobId);
+        current.set(run);
+        run.reader.start();
+        log.info("Re-scoring {} readings with model {} (job {}, {} already done)", total, modelVersion, jobId, processed);
+        return status();
+    }
+
+    // in-flight pages finish and are checkpointed before the job reports PAUSED
+    public RescoreStatusResponse pause() {
+        Run run = current.get();
+        if (run == null) {
+            throw new IllegalStateException("No re-scoring job is running on this node");
+        }
+        run.pauseRequested = true;
+        return status();
+    }
+
+    // keeps the job claimed while pages take longer than the claim timeout between checkpoints
+    @Scheduled(fixedDelayString = "${bridgeguard.rescore.heartbeat-ms:30000}")
+    public void heartbeat() {
+        Run run = current.get();
+        if (run == null) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("UPDATE rescore_job SET updated_at = now() WHERE id = ? AND status = 'RUNNING'",
+                    run.jobId);
+        } catch (DataAccessException e) {
+            log.warn("Could not refresh re-scoring job {}: {}", run.jobId, e.getMessage());
+        }
+    }
+
+    /** The job running on this node, or else the most recent one. */
+    public RescoreStatusResponse status() {
+        Run run = current.get();
+        long jobId;
+        if (run != null) {
+            jobId = run.jobId;
+        } else {
+            List<Long> latest = jdbcTemplate.queryForList(
+                    "SELECT id FROM rescore_job ORDER BY id DESC LIMIT 1", Long.class);
+            if (latest.isEmpty()) {
+                return null;
+            }
+            jobId = latest.get(0);
+        }
+        return jdbcTemplate.queryForObject(
+                "SELECT " + JOB_COLUMNS + " FROM rescore_job WHERE id = ?", JOB_ROW, jobId);
+    }
+
+    private double progress() {
+        Run run = current.get();
+        if (run == null) {
+            return 0;
+        }
+        synchronized (run) {
+            return run.total == 0 ? 1 : (double) run.processed / run.total;
+        }
+    }
+
+    private void execute(Run run) {
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, new WorkerThreads(run.jobId));
+        // at most two pages per worker are read ahead of scoring
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        long startedNanos = System.nanoTime();
+        long dispatched = 0;
+        try {
+            Cursor cursor = run.checkpoint;
+            long pageNo = 0;
+            while (!run.pauseRequested && run.failure.get() == null) {
+                Page page = readPage(cursor, run.upto);
+                if (page.readings().size() == 0) {
+                    break;
+                }
+                inFlight.acquire();
+                long thisPage = pageNo++;
+                run.pageStarted(thisPage, page.end(), page.readings().size());
+                workers.execute(() -> {
+                    try {
+                        batchTimer.record(() -> scoreAndStore(page, run.modelVersion));
+                        rowsCounter.increment(page.readings().size());
+                        run.pageDone(thisPage).ifPresent(this::checkpoint);
+                    } catch (RuntimeException e) {
+                        run.failure.compareAndSet(null, e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+                cursor = page.end();
+                dispatched += page.readings().size();
+                throttle(startedNanos, dispatched);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.pauseRequested = true;
+        } catch (RuntimeException e) {
+            run.failure.compareAndSet(null, e);
+        } finally {
+            workers.shutdown();
+            awaitWorkers(workers);
+            finish(run);
+        }
+    }
+
+    private Page readPage(Cursor cursor, OffsetDateTime upto) {
+        SensorReadingBatch readings = new SensorReadingBatch();
+        UUID[] logIds = new UUID[batchSize];
+        Cursor[] last = new Cursor[1];
+        RowCallbackHandler row = rs -> {
+            UUID id = rs.getObject("id", UUID.class);
+            logIds[readings.size()] = id;
+            readings.add(rs.getString("bridge_id"), rs.getDouble("strain_microstrain"), rs.getDouble("vibration_ms2"),
+                    rs.getDouble("temperature_c"), rs.getDouble("humidity_percent"), SensorReadingBatch.NO_SEQUENCE);
+            last[0] = new Cursor(rs.getObject("created_at", OffsetDateTime.class), id);
+        };
+        if (cursor == null) {
+            jdbcTemplate.query(FIRST_PAGE, row, upto, batchSize);
+        } else {
+            jdbcTemplate.query(NEXT_PAGE, row, cursor.createdAt(), cursor.id(), upto, batchSize);
+        }
+        return new Page(readings, logIds, last[0]);
+    }
+
+    private void scoreAndStore(Page page, String modelVersion) {
+        SensorReadingBatch readings = page.readings();
+        MLBatchResponseDTO scores = mlService.sendBatchToModel(readings.toModelRequest());
+        jdbcTemplate.batchUpdate(INSERT_ML_LOG, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setObject(1, UUID.randomUUID());
+                ps.setObject(2, page.logIds()[i]);
+                ps.setInt(3, scores.getHealthIndex()[i]);
+                ps.setString(4, scores.getHealthState()[i]);
+                ps.setString(5, scores.getRecommendedAction()[i]);
+                ps.setString(6, modelVersion);
+                ps.setObject(7, page.logIds()[i]);
+                ps.setString(8, modelVersion);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return readings.size();
+            }
+        });
+    }
+
+    // workers race to write checkpoints, an older one must never overwrite a newer one
+    private void checkpoint(Checkpoint checkpoint) {
+        jdbcTemplate.update(
+                "UPDATE rescore_job SET cursor_created_at = ?, cursor_id = ?, processed = ?, updated_at = now() "
+                        + "WHERE id = ? AND processed < ?",
+                checkpoint.cursor().createdAt(), checkpoint.cursor().id(), checkpoint.processed(),
+                checkpoint.jobId(), checkpoint.processed());
+    }
+
+    private void throttle(long startedNanos, long dispatched) throws InterruptedException {
+        if (maxRowsPerSecond <= 0) {
+            return;
+        }
+        long waitNanos = throttleDelayNanos(startedNanos, dispatched, maxRowsPerSecond, System.nanoTime());
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    // time the reader has to wait so the rows dispatched so far keep to the rate
+    static long throttleDelayNanos(long startedNanos, long dispatched, int maxRowsPerSecond, long nowNanos) {
+        long dueNanos = startedNanos + dispatched * TimeUnit.SECONDS.toNanos(1) / maxRowsPerSecond;
+        return Math.max(0, dueNanos - nowNanos);
+    }
+
+    private static void awaitWorkers(ExecutorService workers) {
+        try {
+            while (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.info("Waiting for re-scoring pages in flight");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void finish(Run run) {
+        RuntimeException failure = run.failure.get();
+        RescoreJobStatus status = failure != null ? RescoreJobStatus.FAILED
+                : run.pauseRequested ? RescoreJobStatus.PAUSED
+                : RescoreJobStatus.DONE;
+        try {
+            jdbcTemplate.update("UPDATE rescore_job SET status = ?, error = ?, updated_at = now() WHERE id = ?",
+                    status.name(), failure == null ? null : String.valueOf(failure.getMessage()), run.jobId);
+        } catch (DataAccessException e) {
+            log.error("Could not record end of re-scoring job {}", run.jobId, e);
+        }
+        if (failure != null) {
+            log.error("Re-scoring job {} failed, resume it to continue from its checkpoint", run.jobId, failure);
+        } else {
+            log.info("Re-scoring job {} {}", run.jobId, status.name().toLowerCase());
+        }
+        current.set(null);
+    }
+
+    private static final RowMapper<RescoreStatusResponse> JOB_ROW = (rs, i) -> new RescoreStatusResponse(
+            rs.getLong("id"),
+            rs.getString("model_version"),
+            RescoreJobStatus.valueOf(rs.getString("status")),
+            rs.getLong("processed"),
+            rs.getLong("total"),
+            rs.getObject("started_at", OffsetDateTime.class),
+            rs.getObject("updated_at", OffsetDateTime.class),
+            rs.getString("error"));
+
+    record Cursor(OffsetDateTime createdAt, UUID id) {
+    }
+
+    private record Page(SensorReadingBatch readings, UUID[] logIds, Cursor end) {
+    }
+
+    record Checkpoint(long jobId, Cursor cursor, long processed) {
+    }
+
+    /** State of the job running on this node. */
+    static final class Run {
+        final long jobId;
+        final String modelVersion;
+        final OffsetDateTime upto;
+        final Cursor checkpoint;
+        final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        volatile boolean pauseRequested;
+        Thread reader;
+
+        // guarded by this: pages dispatched but not yet covered by the checkpoint
+        private final Map<Long, Cursor> pageEnds = new HashMap<>();
+        private final Map<Long, Integer> pageSizes = new HashMap<>();
+        private final Set<Long> donePages = new HashSet<>();
+        private long nextToCheckpoint;
+        private long processed;
+        private final long total;
+
+        Run(long jobId, String modelVersion, OffsetDateTime upto, Cursor checkpoint, long processed, long total) {
+            this.jobId = jobId;
+            this.modelVersion = modelVersion;
+            this.upto = upto;
+            this.checkpoint = checkpoint;
+            this.processed = processed;
+            this.total = total;
+        }
+
+        synchronized void pageStarted(long page, Cursor end, int size) {
+            pageEnds.put(page, end);
+            pageSizes.put(page, size);
+        }
+
+        // the new checkpoint if this page completes a contiguous run of finished pages
+        synchronized Optional<Checkpoint> pageDone(long page) {
+            donePages.add(page);
+            Cursor advancedTo = null;
+            while (donePages.remove(nextToCheckpoint)) {
+                advancedTo = pageEnds.remove(nextToCheckpoint);
+                processed += pageSizes.remove(nextToCheckpoint);
+                nextToCheckpoint++;
+            }
+            return advancedTo == null ? Optional.empty()
+                    : Optional.of(new Checkpoint(jobId, advancedTo, processed));
+        }
+    }
+
+    private static final class WorkerThreads implements ThreadFactory {
+        private final long jobId;
+        private final AtomicInteger count = new AtomicInteger();
+
+        WorkerThreads(long jobId) {
+            this.jobId = jobId;
+        }
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "rescore-" + jobId + "-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.app.bridgeQuality.service;
+
+import com.app.bridgeQuality.dto.SensorReadingBatch;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.ObjectReadContext;
+import tools.jackson.core.json.JsonFactory;
+
+import java.io.InputStream;
+
+/**
+ * Streams ingest bodies straight into a {@link SensorReadingBatch}. Accepts either
+ * a single reading or an array of readings, using the same property names as
+ * {@link com.app.bridgeQuality.dto.BridgeHealthLogRequestDTO}.
+ */
+@Component
+public class SensorBatchParser {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final BridgeIdCache bridgeIds = new BridgeIdCache();
+
+    public void parse(InputStream body, SensorReadingBatch batch, int maxReadings) {
+        try (JsonParser parser = jsonFactory.createParser(ObjectReadContext.empty(), body)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT) {
+                readReading(parser, batch);
+            } else if (token == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    if (batch.size() == maxReadings) {
+                        throw new IllegalArgumentException("Batch exceeds " + maxReadings + " readings");
+                    }
+                    readReading(parser, batch);
+                }
+                if (parser.currentToken() != JsonToken.END_ARRAY) {
+                    throw new IllegalArgumentException("Expected an array of readings");
+                }
+            } else {
+                throw new IllegalArgumentException("Expected a reading or an array of readings");
+            }
+        }
+    }
+
+    private void readReading(JsonParser parser, SensorReadingBatch batch) {
+        String bridgeId = null;
+        double strain = Double.NaN;
+        double vibration = Double.NaN;
+        double temperature = Double.NaN;
+        double humidity = Double.NaN;
+        long sequence = SensorReadingBatch.NO_SEQUENCE;
+
+        String name;
+        while ((name = parser.nextName()) != null) {
+            JsonToken value = parser.nextToken();
+            switch (name) {
+                case "bridgeId" -> bridgeId = value == JsonToken.VALUE_STRING
+                        ? bridgeIds.intern(parser.getStringCharacters(), parser.getStringOffset(), parser.getStringLength())
+                        : null;
+                case "strainMicrostrain" -> strain = number(parser, value, name);
+                case "vibrationMs2" -> vibration = number(parser, value, name);
+                case "temperatureC" -> temperature = number(parser, value, name);
+                case "humidityPercent" -> humidity = number(parser, value, name);
+                case "sequence" -> sequence = sequence(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (bridgeId == null) {
+            throw new IllegalArgumentException("bridgeId must not be null");
+        }
+        if (Double.isNaN(strain) || Double.isNaN(vibration) || Double.isNaN(temperature) || Double.isNaN(humidity)) {
+            throw new IllegalArgumentException("All sensor readings are required for " + bridgeId);
+        }
+        batch.add(bridgeId, strain, vibration, temperature, humidity, sequence);
+    }
+
+    private static double number(JsonParser parser, JsonToken value, String name) {
+        if (value != JsonToken.VALUE_NUMBER_FLOAT && value != JsonToken.VALUE_NUMBER_INT) {
+            throw new IllegalArgumentException(name + " must be a number");
+        }
+        return parser.getDoubleValue();
+    }
+
+    private static long sequence(JsonParser parser, JsonToken value) {
+        if (value == JsonToken.VALUE_NULL) {
+            return SensorReadingBatch.NO_SEQUENCE;
+        }
+        if (value != JsonToken.VALUE_NUMBER_INT) {
+            throw new IllegalArgumentException("sequence must be an integer");
+        }
+        long sequence = parser.getLongValue();
+        if (sequence == SensorReadingBatch.NO_SEQUENCE) {
+            throw new IllegalArgumentException("sequence out of range");
+        }
+        return sequence;
+    }
+}
@@ -0,0 +1,72 @@
+package com.app.bridgeQuality.service;
+
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Decodes the binary frames described on {@link SensorFrameListener}. Not thread
+ * safe: each listener owns one decoder and only uses it from its selector thread.
+ */
+final class SensorFrameDecoder {
+
+    static final int MIN_FRAME = 1 + 1 + Long.BYTES + 4 * Double.BYTES;
+    static final int MAX_FRAME = 1 + 255 + Long.BYTES + 4 * Double.BYTES;
+
+    // recordedAt is null when the gateway sent no timestamp
+    record SensorFrame(String bridgeId, OffsetDateTime recordedAt,
+                       double strainMicrostrain, double vibrationMs2, double temperatureC, double humidityPercent) {
+    }
+
+    private final BridgeIdCache bridgeIds = new BridgeIdCache();
+    private final Clock clock;
+
+    SensorFrameDecoder() {
+        this(Clock.systemUTC());
+    }
+
+    SensorFrameDecoder(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Length of the frame at the buffer's position, or -1 while it has not fully
+     * arrived. Throws when the length prefix cannot be valid.
+     */
+    static int completeFrameLength(ByteBuffer buffer) {
+        if (buffer.remaining() < Integer.BYTES) {
+            return -1;
+        }
+        int frameLength = buffer.getInt(buffer.position());
+        if (frameLength < MIN_FRAME || frameLength > MAX_FRAME) {
+            throw new IllegalArgumentException("bad frame length " + frameLength);
+        }
+        return buffer.remaining() < Integer.BYTES + frameLength ? -1 : frameLength;
+    }
+
+    // consumes one complete frame, length prefix included
+    SensorFrame decode(ByteBuffer buffer, int frameLength) {
+        buffer.position(buffer.position() + Integer.BYTES);
+        int end = buffer.position() + frameLength;
+        int idLength = buffer.get() & 0xFF;
+        if (idLength == 0 || 1 + idLength + Long.BYTES + 4 * Double.BYTES != frameLength) {
+            throw new IllegalArgumentException("malformed frame");
+        }
+        String bridgeId = bridgeIds.intern(buffer, idLength);
+        long timestamp = buffer.getLong();
+        double strain = buffer.getDouble();
+        double vibration = buffer.getDouble();
+        double temperature = buffer.getDouble();
+        double humidity = buffer.getDouble();
+        buffer.position(end);
+
+        // a skewed clock or a corrupt timestamp must not land in the future
+        OffsetDateTime recordedAt = timestamp == 0
+                ? null
+                : ReadingTimes.notInFuture(
+                        OffsetDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneOffset.UTC), clock.instant());
+        return new SensorFrame(bridgeId, recordedAt, strain, vibration, temperature, humidity);
+    }
+}
@@ -0,0 +1,295 @@
+package com.app.bridgeQuality.service;
+
+import com.app.bridgeQuality.dto.BridgeHealthLogRequestDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-blocking TCP listener for gateways that cannot afford HTTP + JSON per reading.
+ * <p>
+ * Every frame is big-endian and length-prefixed:
+ * <pre>
+ * int    frameLength      bytes that follow this field
+ * byte   bridgeIdLength   1..255
+ * byte[] bridgeId         US-ASCII, e.g. "BRIDGE-001"
+ * long   timestamp        epoch millis at the gateway, 0 = use server time
+ * double strainMicrostrain
+ * double vibrationMs2
+ * double temperatureC
+ * double humidityPercent
+ * </pre>
+ * Frames are fire-and-forget: decoded readings go through the same
+ * {@link BridgeHealthService#processSensorData} pipeline as the HTTP ingest endpoint.
+ * When the worker queue is full, the listener stops reading from the connection
+ * that hit it until the queue drains, so TCP pushes back on that gateway alone.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "bridgeguard.ingest.tcp", name = "enabled", havingValue = "true")
+public class SensorFrameListener implements SmartLifecycle {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    // how long accepting pauses after a failed accept, e.g. out of file descriptors
+    private static final long ACCEPT_BACKOFF_MS = 200;
+
+    private final BridgeHealthService bridgeHealthService;
+    private final ClusterService clusterService;
+    private final int port;
+    private final ThreadPoolExecutor workers;
+
+    // only touched by the selector thread
+    private final ArrayDeque<ByteBuffer> bufferPool = new ArrayDeque<>();
+    private final SensorFrameDecoder decoder = new SensorFrameDecoder();
+    private final List<SelectionKey> pausedKeys = new ArrayList<>();
+    private long acceptResumesAt;
+
+    private volatile boolean running;
+    private volatile boolean readsPaused;
+    private Selector selector;
+    private ServerSocketChannel server;
+    private SelectionKey serverKey;
+    private Thread selectorThread;
+
+    public SensorFrameListener(BridgeHealthService bridgeHealthService,
+                               ClusterService clusterService,
+                               @Value("${bridgeguard.ingest.tcp.port:9750}") int port,
+                               @Value("${bridgeguard.ingest.tcp.workers:8}") int workers,
+                               @Value("${bridgeguard.ingest.tcp.queue-capacity:4096}") int queueCapacity) {
+        this.bridgeHealthService = bridgeHealthService;
+        this.clusterService = clusterService;
+        this.port = port;
+        // the pipeline blocks on the ML call, so it runs off the selector thread;
+        // a full queue rejects and the selector parks the connection (see pause)
+        this.workers = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new ThreadPoolExecutor.AbortPolicy()) {
+            @Override
+            protected void afterExecute(Runnable task, Throwable failure) {
+                if (readsPaused) {
+                    selector.wakeup();
+                }
+            }
+        };
+    }
+
+    @Override
+    public void start() {
+        try {
+            selector = Selector.open();
+            server = ServerSocketChannel.open();
+            server.bind(new InetSocketAddress(port));
+            server.configureBlocking(false);
+            serverKey = server.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not open sensor ingest port " + port, e);
+        }
+        running = true;
+        selectorThread = new Thread(this::selectLoop, "sensor-frame-listener");
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+        log.info("Binary sensor ingest listening on port {}", port);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (selector != null) {
+            selector.wakeup();
+        }
+        try {
+            if (selectorThread != null) {
+                selectorThread.join(TimeUnit.SECONDS.toMillis(5));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workers.shutdown();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void selectLoop() {
+        try {
+            while (running) {
+                selector.select(acceptResumesAt == 0 ? 0 : Math.max(1, acceptResumesAt - System.currentTimeMillis()));
+                if (acceptResumesAt != 0 && System.currentTimeMillis() >= acceptResumesAt) {
+                    acceptResumesAt = 0;
+                    serverKey.interestOps(SelectionKey.OP_ACCEPT);
+                }
+                if (readsPaused) {
+                    resumePaused();
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else if (key.isReadable() && key.interestOps() != 0) {
+                        read(key);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Sensor frame listener stopped", e);
+        } finally {
+            running = false;
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key);
+            }
+            try {
+                selector.close();
+                server.close();
+            } catch (IOException ignored) {
+                // shutting down anyway
+            }
+        }
+    }
+
+    private void accept() {
+        try {
+            SocketChannel channel = server.accept();
+            if (channel == null) {
+                return;
+            }
+            try {
+                channel.configureBlocking(false);
+                channel.register(selector, SelectionKey.OP_READ, borrowBuffer());
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            // the listening socket is still fine; back off instead of spinning on a ready key
+            log.warn("Could not accept sensor connection, pausing accepts for {} ms: {}", ACCEPT_BACKOFF_MS, e.getMessage());
+            serverKey.interestOps(0);
+            acceptResumesAt = System.currentTimeMillis() + ACCEPT_BACKOFF_MS;
+        }
+    }
+
+    private void read(SelectionKey key) {
+        SocketChannel channel = (SocketChannel) key.channel();
+        ByteBuffer buffer = (ByteBuffer) key.attachment();
+        try {
+            if (channel.read(buffer) < 0) {
+                closeQuietly(key);
+                return;
+            }
+            drain(key, buffer);
+        } catch (IOException e) {
+            log.warn("Dropping sensor connection: {}", e.getMessage());
+            closeQuietly(key);
+        }
+    }
+
+    // hands every complete frame in the buffer to the workers; the buffer is left in write mode
+    private void drain(SelectionKey key, ByteBuffer buffer) {
+        buffer.flip();
+        try {
+            int frameLength;
+            while ((frameLength = SensorFrameDecoder.completeFrameLength(buffer)) >= 0) {
+                int frameStart = buffer.position();
+                SensorFrameDecoder.SensorFrame frame = decoder.decode(buffer, frameLength);
+                if (!submit(frame)) {
+                    // keep the frame for when the queue drains
+                    buffer.position(frameStart);
+                    pause(key);
+                    break;
+                }
+            }
+            buffer.compact();
+        } catch (RuntimeException e) {
+            log.warn("Dropping sensor connection: {}", e.getMessage());
+            closeQuietly(key);
+        }
+    }
+
+    private boolean submit(SensorFrameDecoder.SensorFrame frame) {
+        BridgeHealthLogRequestDTO reading = new BridgeHealthLogRequestDTO(frame.bridgeId(), frame.strainMicrostrain(),
+                frame.vibrationMs2(), frame.temperatureC(), frame.humidityPercent(), null);
+        try {
+            workers.execute(() -> {
+                try {
+                    if (clusterService.tryForward(reading, frame.recordedAt()).isEmpty()) {
+                        bridgeHealthService.processSensorData(reading, frame.recordedAt());
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Failed to ingest binary frame for {}: {}", reading.getBridgeId(), e.getMessage());
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private void pause(SelectionKey key) {
+        key.interestOps(0);
+        pausedKeys.add(key);
+        readsPaused = true;
+    }
+
+    private void resumePaused() {
+        if (workers.getQueue().remainingCapacity() == 0) {
+            return;
+        }
+        List<SelectionKey> resumed = new ArrayList<>(pausedKeys);
+        pausedKeys.clear();
+        readsPaused = false;
+        for (SelectionKey key : resumed) {
+            if (!key.isValid()) {
+                continue;
+            }
+            key.interestOps(SelectionKey.OP_READ);
+            // frames already buffered will not raise another read event
+            drain(key, (ByteBuffer) key.attachment());
+        }
+    }
+
+    private ByteBuffer borrowBuffer() {
+        ByteBuffer buffer = bufferPool.poll();
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.BIG_ENDIAN);
+        }
+        return buffer;
+    }
+
+    private void closeQuietly(SelectionKey key) {
+        key.cancel();
+        if (key.attachment() instanceof ByteBuffer buffer) {
+            buffer.clear();
+            bufferPool.push(buffer);
+            key.attach(null);
+        }
+        try {
+            key.channel().close();
+        } catch (IOException ignored) {
+            // already gone
+        }
+    }
+}
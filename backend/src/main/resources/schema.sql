@@ -0,0 +1,85 @@
+-- Runs before Hibernate validates the mappings (spring.sql.init.mode=always): changes
+-- to mapped tables, and the tables services reach through JdbcTemplate only.
+-- Every statement must be re-runnable. Indexes on the log tables are built
+-- CONCURRENTLY so the first rollout does not block ingest while they build (the
+-- script runs in autocommit, which that requires); an interrupted build leaves an
+-- INVALID index that IF NOT EXISTS skips, drop it by hand and restart.
+
+-- model that produced each ML output row (see MLOutputLog#modelVersion)
+ALTER TABLE ml_output_log ADD COLUMN IF NOT EXISTS model_version varchar(50);
+
+-- a reading is scored once per model version, so bridge_log_ref must not be unique;
+-- older schemas mapped it one-to-one and carry a unique constraint on it
+DO '
+DECLARE
+    c record;
+BEGIN
+    FOR c IN
+        SELECT con.conname
+        FROM pg_constraint con
+                 JOIN pg_attribute att ON att.attrelid = con.conrelid AND att.attnum = con.conkey[1]
+        WHERE con.conrelid = ''ml_output_log''::regclass
+          AND con.contype = ''u''
+          AND array_length(con.conkey, 1) = 1
+          AND att.attname = ''bridge_log_ref''
+    LOOP
+        EXECUTE format(''ALTER TABLE ml_output_log DROP CONSTRAINT %I'', c.conname);
+    END LOOP;
+END
+';
+
+-- latest scoring of a reading, and the re-scoring job's duplicate guard
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ml_output_log_ref_version_idx ON ml_output_log (bridge_log_ref, model_version);
+
+-- keyset order of the re-scoring job
+CREATE INDEX CONCURRENTLY IF NOT EXISTS bridge_health_log_created_id_idx ON bridge_health_log (created_at, id);
+
+-- per-bridge time range scans of the fleet report (see ReportService)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS bridge_health_log_bridge_created_idx ON bridge_health_log (bridge_id, created_at);
+
+-- time of the reading the bridge's status was taken from (see BridgeStatusWriter)
+ALTER TABLE bridges ADD COLUMN IF NOT EXISTS status_reading_at timestamptz;
+
+-- live cluster members, refreshed by their heartbeat (see ClusterService)
+CREATE TABLE IF NOT EXISTS cluster_node (
+    node_id      varchar(64) PRIMARY KEY,
+    base_url     varchar(255) NOT NULL,
+    heartbeat_at timestamptz  NOT NULL
+);
+
+-- user-defined alert rules, a null bridge_id applies to every bridge (see AlertService)
+CREATE TABLE IF NOT EXISTS alert_rule (
+    id             bigserial PRIMARY KEY,
+    bridge_id      varchar(50) REFERENCES bridges (id),
+    rule_type      varchar(20)      NOT NULL,
+    metric         varchar(20)      NOT NULL,
+    threshold      double precision NOT NULL,
+    consecutive    integer,
+    window_minutes integer,
+    enabled        boolean          NOT NULL DEFAULT true,
+    updated_at     timestamptz      NOT NULL DEFAULT now()
+);
+
+-- claims of sequenced readings, log_id is null while in flight (see IngestDedupeService)
+CREATE TABLE IF NOT EXISTS ingest_sequence (
+    bridge_id  varchar(50) NOT NULL,
+    seq        bigint      NOT NULL,
+    log_id     uuid,
+    claimed_at timestamptz NOT NULL DEFAULT now(),
+    PRIMARY KEY (bridge_id, seq)
+);
+
+-- re-scoring jobs and their checkpoints (see RescoreService)
+CREATE TABLE IF NOT EXISTS rescore_job (
+    id                bigserial PRIMARY KEY,
+    model_version     varchar(50) NOT NULL,
+    status            varchar(20) NOT NULL,
+    upto              timestamptz NOT NULL,
+    cursor_created_at timestamptz,
+    cursor_id         uuid,
+    processed         bigint      NOT NULL DEFAULT 0,
+    total             bigint      NOT NULL DEFAULT 0,
+    error             text,
+    started_at        timestamptz NOT NULL DEFAULT now(),
+    updated_at        timestamptz NOT NULL DEFAULT now()
+);
@@ -0,0 +1,96 @@
+package com.app.bridgeQuality.service;
+
+import com.app.bridgeQuality.entity.Bridge;
+import com.app.bridgeQuality.event.BridgeCreatedEvent;
+import com.app.bridgeQuality.repository.BridgeRepository;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BridgeSpatialIndexTest {
+
+	private static final GeometryFactory GEOMETRY = new GeometryFactory();
+
+	private final BridgeRepository repository = mock(BridgeRepository.class);
+	private final List<Bridge> rows = new ArrayList<>();
+	private final BridgeSpatialIndex index = new BridgeSpatialIndex(repository, false);
+
+	BridgeSpatialIndexTest() {
+		when(repository.findAll()).thenReturn(rows);
+	}
+
+	@Test
+	void neighboursWithinRadiusNearestFirst() {
+		rows.add(bridge("ORIGIN", 50.0, 10.0));
+		// about 11 km and 22 km north, and 111 km north
+		rows.add(bridge("NEAR", 50.1, 10.0));
+		rows.add(bridge("MID", 50.2, 10.0));
+		rows.add(bridge("FAR", 51.0, 10.0));
+		index.rebuild();
+
+		List<BridgeSpatialIndex.Neighbour> neighbours = index.neighbours("ORIGIN", 25);
+
+		assertThat(neighbours).extracting(n -> n.site().bridgeId()).containsExactly("NEAR", "MID");
+		assertThat(neighbours.get(0).distanceKm()).isCloseTo(11.12, within(0.05));
+	}
+
+	@Test
+	void cornerOfTheSearchBoxIsOutsideTheRadius() {
+		rows.add(bridge("ORIGIN", 0.0, 0.0));
+		// inside the 25 km degree box, but about 31 km away diagonally
+		rows.add(bridge("CORNER", 0.2, 0.2));
+		rows.add(bridge("EDGE", 0.0, 0.2));
+		index.rebuild();
+
+		assertThat(index.neighbours("ORIGIN", 25)).extracting(n -> n.site().bridgeId()).containsExactly("EDGE");
+	}
+
+	@Test
+	void boxWidensWithLatitude() {
+		// at 70 degrees north a degree of longitude is about 38 km
+		rows.add(bridge("ORIGIN", 70.0, 20.0));
+		rows.add(bridge("EAST", 70.0, 20.5));
+		rows.add(bridge("FAR_EAST", 70.0, 21.0));
+		index.rebuild();
+
+		assertThat(index.neighbours("ORIGIN", 25)).extracting(n -> n.site().bridgeId()).containsExactly("EAST");
+	}
+
+	@Test
+	void unknownBridgeHasNoNeighbours() {
+		rows.add(bridge("ORIGIN", 50.0, 10.0));
+		index.rebuild();
+
+		assertThat(index.neighbours("MISSING", 100)).isEmpty();
+		assertThat(index.site("MISSING")).isNull();
+	}
+
+	@Test
+	void createdBridgeIsIndexedAndSurvivesRebuildFromOlderRows() {
+		rows.add(bridge("ORIGIN", 50.0, 10.0));
+		index.rebuild();
+
+		index.onBridgeCreated(new BridgeCreatedEvent(bridge("NEW", 50.05, 10.0)));
+		assertThat(index.neighbours("ORIGIN", 25)).extracting(n -> n.site().bridgeId()).containsExactly("NEW");
+
+		// rows read before the new bridge committed
+		index.rebuild();
+		assertThat(index.site("NEW")).isNotNull();
+		assertThat(index.site("NEW").latitude()).isEqualTo(50.05);
+	}
+
+	private static Bridge bridge(String id, double latitude, double longitude) {
+		Bridge bridge = new Bridge();
+		bridge.setId(id);
+		bridge.setLocation(GEOMETRY.createPoint(new Coordinate(longitude, latitude)));
+		return bridge;
+	}
+}
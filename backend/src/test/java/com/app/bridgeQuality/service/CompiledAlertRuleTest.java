@@ -0,0 +1,131 @@
+package com.app.bridgeQuality.service;
+
+import com.app.bridgeQuality.dto.AlertRuleDTO;
+import com.app.bridgeQuality.entity.enums.AlertMetric;
+import com.app.bridgeQuality.entity.enums.AlertRuleType;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompiledAlertRuleTest {
+
+	private static final long MINUTE = 60_000L;
+
+	@Test
+	void thresholdFiresAfterConsecutiveReadingsAndOnlyOnce() {
+		CompiledAlertRule rule = CompiledAlertRule.compile(rule(AlertRuleType.THRESHOLD, AlertMetric.STRAIN, 100, 3, null));
+		CompiledAlertRule.State state = new CompiledAlertRule.State();
+
+		assertThat(rule.evaluate(state, 0, 150)).isFalse();
+		assertThat(rule.evaluate(state, 1, 150)).isFalse();
+		assertThat(rule.evaluate(state, 2, 150)).isTrue();
+		// still above: already active, no new alert
+		assertThat(rule.evaluate(state, 3, 150)).isFalse();
+		assertThat(rule.evaluate(state, 4, 150)).isFalse();
+	}
+
+	@Test
+	void thresholdStreakResetsAndRuleReArmsBelowLimit() {
+		CompiledAlertRule rule = CompiledAlertRule.compile(rule(AlertRuleType.THRESHOLD, AlertMetric.STRAIN, 100, 2, null));
+		CompiledAlertRule.State state = new CompiledAlertRule.State();
+
+		assertThat(rule.evaluate(state, 0, 150)).isFalse();
+		// the limit itself does not count as above
+		assertThat(rule.evaluate(state, 1, 100)).isFalse();
+		assertThat(rule.evaluate(state, 2, 150)).isFalse();
+		assertThat(rule.evaluate(state, 3, 150)).isTrue();
+		assertThat(rule.evaluate(state, 4, 50)).isFalse();
+		assertThat(rule.evaluate(state, 5, 150)).isFalse();
+		assertThat(rule.evaluate(state, 6, 150)).isTrue();
+	}
+
+	@Test
+	void spikeSeedsBaselineThenFiresOnEdgeOnly() {
+		CompiledAlertRule rule = CompiledAlertRule.compile(rule(AlertRuleType.SPIKE, AlertMetric.VIBRATION, 3, null, null));
+		CompiledAlertRule.State state = new CompiledAlertRule.State();
+
+		// the first reading only seeds the baseline, however large
+		assertThat(rule.evaluate(state, 0, 1.0)).isFalse();
+		assertThat(rule.evaluate(state, 1, 1.1)).isFalse();
+		assertThat(rule.evaluate(state, 2, 5.0)).isTrue();
+		assertThat(rule.evaluate(state, 3, 5.0)).isFalse();
+		assertThat(rule.evaluate(state, 4, 1.0)).isFalse();
+		assertThat(rule.evaluate(state, 5, 6.0)).isTrue();
+	}
+
+	@Test
+	void spikeBaselineFollowsSustainedLevel() {
+		CompiledAlertRule rule = CompiledAlertRule.compile(rule(AlertRuleType.SPIKE, AlertMetric.VIBRATION, 3, null, null));
+		CompiledAlertRule.State state = new CompiledAlertRule.State();
+
+		rule.evaluate(state, 0, 1.0);
+		for (int i = 1; i < 200; i++) {
+			rule.evaluate(state, i, 2.5);
+		}
+		// 5.0 would be a spike against the seed, not against the adapted baseline
+		assertThat(rule.evaluate(state, 200, 5.0)).isFalse();
+	}
+
+	@Test
+	void bqiDropComparesAgainstWindowMaximum() {
+		CompiledAlertRule rule = CompiledAlertRule.compile(rule(AlertRuleType.BQI_DROP, AlertMetric.BQI, 10, null, 60));
+		CompiledAlertRule.State state = new CompiledAlertRule.State();
+
+		assertThat(rule.evaluate(state, 0, 90)).isFalse();
+		assertThat(rule.evaluate(state, 10 * MINUTE, 85)).isFalse();
+		assertThat(rule.evaluate(state, 20 * MINUTE, 79)).isTrue();
+		assertThat(rule.evaluate(state, 30 * MINUTE, 75)).isFalse();
+		// recovers within 10 points of the maximum: re-arms
+		assertThat(rule.evaluate(state, 40 * MINUTE, 85)).isFalse();
+		assertThat(rule.evaluate(state, 50 * MINUTE, 70)).isTrue();
+	}
+
+	@Test
+	void bqiDropForgetsReadingsThatLeftTheWindow() {
+		CompiledAlertRule rule = CompiledAlertRule.compile(rule(AlertRuleType.BQI_DROP, AlertMetric.BQI, 10, null, 60));
+		CompiledAlertRule.State state = new CompiledAlertRule.State();
+
+		rule.evaluate(state, 0, 95);
+		rule.evaluate(state, 30 * MINUTE, 88);
+		// 95 is older than an hour by now, 88 is the maximum
+		assertThat(rule.evaluate(state, 61 * MINUTE, 80)).isFalse();
+		assertThat(rule.evaluate(state, 62 * MINUTE, 77)).isTrue();
+	}
+
+	@Test
+	void bqiDropDequeGrowsPastInitialCapacity() {
+		CompiledAlertRule rule = CompiledAlertRule.compile(rule(AlertRuleType.BQI_DROP, AlertMetric.BQI, 50, null, 60));
+		CompiledAlertRule.State state = new CompiledAlertRule.State();
+
+		// a strictly falling series keeps every reading in the deque
+		for (int i = 0; i < 40; i++) {
+			assertThat(rule.evaluate(state, i * 1000L, 100 - i)).isFalse();
+		}
+		assertThat(state.size).isEqualTo(40);
+		assertThat(state.times.length).isGreaterThanOrEqualTo(40);
+		assertThat(rule.evaluate(state, 40_000, 49)).isTrue();
+	}
+
+	@Test
+	void bqiDropDequeWrapsAroundItsArray() {
+		CompiledAlertRule rule = CompiledAlertRule.compile(rule(AlertRuleType.BQI_DROP, AlertMetric.BQI, 5, null, 1));
+		CompiledAlertRule.State state = new CompiledAlertRule.State();
+
+		// falling readings 10 s apart in a one minute window: the head keeps advancing,
+		// so after a while the tail wraps past the end of the 16-slot array
+		int bqi = 1000;
+		for (int i = 0; i < 100; i++) {
+			rule.evaluate(state, i * 10_000L, bqi--);
+		}
+		assertThat(state.times.length).isEqualTo(16);
+		assertThat(state.size).isBetween(1, 7);
+		// window maximum is the oldest reading still inside the last minute
+		int windowMax = bqi + (state.size);
+		assertThat(rule.evaluate(state, 100 * 10_000L, windowMax - 5)).isFalse();
+	}
+
+	private static AlertRuleDTO rule(AlertRuleType type, AlertMetric metric, double threshold,
+									 Integer consecutive, Integer windowMinutes) {
+		return new AlertRuleDTO(1L, null, type, metric, threshold, consecutive, windowMinutes, true);
+	}
+}
@@ -0,0 +1,79 @@
+package com.app.bridgeQuality.service;
+
+import com.app.bridgeQuality.dto.CorrelatedBridgeResponse;
+import com.app.bridgeQuality.entity.Bridge;
+import com.app.bridgeQuality.repository.BridgeRepository;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CorrelationServiceTest {
+
+	private static final double SPIKE_FACTOR = 3.0;
+
+	@Test
+	void firstReadingSeedsTheBaselineWithoutSpiking() {
+		CorrelationService.RecentReadings readings = new CorrelationService.RecentReadings();
+
+		assertThat(readings.add(0, 100, 100, SPIKE_FACTOR)).isFalse();
+	}
+
+	@Test
+	void reportsOnlyTheEdgeIntoASpike() {
+		CorrelationService.RecentReadings readings = new CorrelationService.RecentReadings();
+		readings.add(0, 1, 10, SPIKE_FACTOR);
+
+		assertThat(readings.add(1, 1.1, 10, SPIKE_FACTOR)).isFalse();
+		assertThat(readings.add(2, 5, 10, SPIKE_FACTOR)).isTrue();
+		assertThat(readings.add(3, 5, 10, SPIKE_FACTOR)).isFalse();
+		assertThat(readings.add(4, 1, 10, SPIKE_FACTOR)).isFalse();
+		// strain alone is enough
+		assertThat(readings.add(5, 1, 40, SPIKE_FACTOR)).isTrue();
+	}
+
+	@Test
+	void flatZeroBaselineDoesNotMakeEveryReadingASpike() {
+		CorrelationService.RecentReadings readings = new CorrelationService.RecentReadings();
+		readings.add(0, 0, 0, SPIKE_FACTOR);
+
+		assertThat(readings.add(1, 0, 0, SPIKE_FACTOR)).isFalse();
+	}
+
+	@Test
+	void neighbourWithElevatedReadingsIsCorrelated() {
+		BridgeRepository repository = mock(BridgeRepository.class);
+		GeometryFactory geometry = new GeometryFactory();
+		Bridge a = new Bridge();
+		a.setId("A");
+		a.setLocation(geometry.createPoint(new Coordinate(10.0, 50.0)));
+		Bridge b = new Bridge();
+		b.setId("B");
+		b.setLocation(geometry.createPoint(new Coordinate(10.0, 50.1)));
+		Bridge c = new Bridge();
+		c.setId("C");
+		c.setLocation(geometry.createPoint(new Coordinate(10.0, 50.05)));
+		when(repository.findAll()).thenReturn(List.of(a, b, c));
+		BridgeSpatialIndex index = new BridgeSpatialIndex(repository, false);
+		index.rebuild();
+		CorrelationService correlation = new CorrelationService(index, 25, 120_000, SPIKE_FACTOR, 1.5);
+
+		OffsetDateTime now = OffsetDateTime.now();
+		correlation.record("B", now.minusSeconds(10), 10, 1);
+		correlation.record("B", now.minusSeconds(5), 10, 2);
+		correlation.record("C", now.minusSeconds(10), 10, 1);
+		correlation.record("C", now.minusSeconds(5), 10, 1.1);
+
+		List<CorrelatedBridgeResponse> result = correlation.correlated("A", 25);
+
+		assertThat(result).extracting(CorrelatedBridgeResponse::getBridgeId).containsExactly("C", "B");
+		assertThat(result).extracting(CorrelatedBridgeResponse::isCorrelated).containsExactly(false, true);
+		assertThat(correlation.correlated("MISSING", 25)).isNull();
+	}
+}
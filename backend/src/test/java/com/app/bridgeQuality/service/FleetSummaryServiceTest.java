@@ -0,0 +1,147 @@
+package com.app.bridgeQuality.service;
+
+import com.app.bridgeQuality.dto.FleetSummaryResponse;
+import com.app.bridgeQuality.entity.Bridge;
+import com.app.bridgeQuality.entity.enums.BridgeStatus;
+import com.app.bridgeQuality.event.BridgeCreatedEvent;
+import com.app.bridgeQuality.event.BridgeStatusChangedEvent;
+import com.app.bridgeQuality.repository.BridgeRepository;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FleetSummaryServiceTest {
+
+	private static final GeometryFactory GEOMETRY = new GeometryFactory();
+	private static final OffsetDateTime T0 = OffsetDateTime.of(2024, 5, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+	private final BridgeRepository repository = mock(BridgeRepository.class);
+	private final List<Bridge> rows = new ArrayList<>();
+	private final FleetSummaryService summary =
+			new FleetSummaryService(repository, new BridgeService(null, null), false);
+
+	FleetSummaryServiceTest() {
+		when(repository.findAll()).thenReturn(rows);
+	}
+
+	@Test
+	void countsStatusesAndAveragesBqi() {
+		rows.add(bridge("B1", BridgeStatus.GOOD, 80, null));
+		rows.add(bridge("B2", BridgeStatus.POOR, 40, null));
+		summary.rebuild();
+
+		FleetSummaryResponse response = summary.summary(1);
+
+		assertThat(response.getTotalBridges()).isEqualTo(2);
+		assertThat(response.getBridgesByStatus()).containsEntry(BridgeStatus.GOOD, 1).containsEntry(BridgeStatus.POOR, 1);
+		assertThat(response.getAverageBqi()).isEqualTo(60.0);
+		assertThat(response.getWorstBridges()).extracting("id").containsExactly("B2");
+	}
+
+	@Test
+	void statusChangeMovesBridgeBetweenCounts() {
+		rows.add(bridge("B1", BridgeStatus.GOOD, 80, null));
+		summary.rebuild();
+
+		summary.onStatusChanged(new BridgeStatusChangedEvent("B1", BridgeStatus.CRITICAL, 10, T0));
+
+		FleetSummaryResponse response = summary.summary(5);
+		assertThat(response.getBridgesByStatus()).containsEntry(BridgeStatus.GOOD, 0).containsEntry(BridgeStatus.CRITICAL, 1);
+		assertThat(response.getAverageBqi()).isEqualTo(10.0);
+	}
+
+	@Test
+	void olderEventArrivingLateIsDropped() {
+		rows.add(bridge("B1", BridgeStatus.GOOD, 80, null));
+		summary.rebuild();
+
+		summary.onStatusChanged(new BridgeStatusChangedEvent("B1", BridgeStatus.POOR, 30, T0.plusSeconds(2)));
+		summary.onStatusChanged(new BridgeStatusChangedEvent("B1", BridgeStatus.FAIR, 60, T0.plusSeconds(1)));
+
+		FleetSummaryResponse response = summary.summary(5);
+		assertThat(response.getBridgesByStatus()).containsEntry(BridgeStatus.POOR, 1).containsEntry(BridgeStatus.FAIR, 0);
+		assertThat(response.getAverageBqi()).isEqualTo(30.0);
+	}
+
+	@Test
+	void eventWithSameReadingTimeStillApplies() {
+		rows.add(bridge("B1", BridgeStatus.GOOD, 80, null));
+		summary.rebuild();
+
+		summary.onStatusChanged(new BridgeStatusChangedEvent("B1", BridgeStatus.POOR, 30, T0));
+		summary.onStatusChanged(new BridgeStatusChangedEvent("B1", BridgeStatus.FAIR, 60, T0));
+
+		assertThat(summary.summary(5).getAverageBqi()).isEqualTo(60.0);
+	}
+
+	@Test
+	void rebuildKeepsEventsNewerThanTheRowsItRead() {
+		rows.add(bridge("B1", BridgeStatus.GOOD, 80, T0));
+		summary.rebuild();
+		summary.onStatusChanged(new BridgeStatusChangedEvent("B1", BridgeStatus.CRITICAL, 5, T0.plusSeconds(5)));
+
+		// rows read before that reading committed
+		summary.rebuild();
+
+		FleetSummaryResponse response = summary.summary(5);
+		assertThat(response.getBridgesByStatus()).containsEntry(BridgeStatus.CRITICAL, 1).containsEntry(BridgeStatus.GOOD, 0);
+		assertThat(response.getAverageBqi()).isEqualTo(5.0);
+	}
+
+	@Test
+	void rebuildTakesNewerRowsAndDropsOlderEventsAfterwards() {
+		rows.add(bridge("B1", BridgeStatus.GOOD, 80, T0));
+		summary.rebuild();
+
+		// another node stored a newer reading
+		rows.set(0, bridge("B1", BridgeStatus.POOR, 35, T0.plusSeconds(10)));
+		summary.rebuild();
+		summary.onStatusChanged(new BridgeStatusChangedEvent("B1", BridgeStatus.EXCELLENT, 95, T0.plusSeconds(3)));
+
+		FleetSummaryResponse response = summary.summary(5);
+		assertThat(response.getBridgesByStatus()).containsEntry(BridgeStatus.POOR, 1);
+		assertThat(response.getAverageBqi()).isEqualTo(35.0);
+		assertThat(response.getTotalBridges()).isEqualTo(1);
+	}
+
+	@Test
+	void rebuildKeepsBridgesCreatedAfterItsRead() {
+		summary.rebuild();
+		summary.onBridgeCreated(new BridgeCreatedEvent(bridge("B9", BridgeStatus.EXCELLENT, 100, null)));
+
+		summary.rebuild();
+
+		assertThat(summary.summary(5).getTotalBridges()).isEqualTo(1);
+	}
+
+	@Test
+	void lateCreatedEventDoesNotResetStatus() {
+		rows.add(bridge("B1", BridgeStatus.EXCELLENT, 100, null));
+		summary.rebuild();
+		summary.onStatusChanged(new BridgeStatusChangedEvent("B1", BridgeStatus.POOR, 30, T0));
+
+		summary.onBridgeCreated(new BridgeCreatedEvent(bridge("B1", BridgeStatus.EXCELLENT, 100, null)));
+
+		assertThat(summary.summary(5).getAverageBqi()).isEqualTo(30.0);
+	}
+
+	private static Bridge bridge(String id, BridgeStatus status, int bqi, OffsetDateTime readingAt) {
+		Bridge bridge = new Bridge();
+		bridge.setId(id);
+		bridge.setName(id);
+		bridge.setStatus(status);
+		bridge.setBqi(bqi);
+		bridge.setLocation(GEOMETRY.createPoint(new Coordinate(10, 50)));
+		bridge.setStatusReadingAt(readingAt);
+		return bridge;
+	}
+}
@@ -0,0 +1,235 @@
+package com.app.bridgeQuality.service;
+
+import com.app.bridgeQuality.dto.SensorReadingBatch;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class IngestDedupeServiceTest {
+
+	@Test
+	void windowAnswersOnlyForRecordedSequences() {
+		IngestDedupeService.SequenceWindow window = new IngestDedupeService.SequenceWindow();
+		assertThat(window.lookup(1)).isNull();
+
+		window.record(1, null, null);
+		assertThat(window.lookup(1).status()).isEqualTo(IngestDedupeService.Status.IN_FLIGHT);
+		assertThat(window.lookup(2)).isNull();
+
+		UUID logId = UUID.randomUUID();
+		window.record(1, logId, null);
+		assertThat(window.lookup(1).status()).isEqualTo(IngestDedupeService.Status.DUPLICATE);
+		assertThat(window.lookup(1).logId()).isEqualTo(logId);
+
+		window.forget(1);
+		assertThat(window.lookup(1)).isNull();
+	}
+
+	@Test
+	void windowForgetsSequencesThatFellBehindTheHighWaterMark() {
+		IngestDedupeService.SequenceWindow window = new IngestDedupeService.SequenceWindow();
+		window.record(10, UUID.randomUUID(), null);
+		window.record(10 + 255, UUID.randomUUID(), null);
+		assertThat(window.lookup(10)).isNotNull();
+
+		// 266 lands in the slot of 10
+		window.record(10 + 256, UUID.randomUUID(), null);
+		assertThat(window.lookup(10)).isNull();
+		// too old to be recorded at all
+		window.record(5, UUID.randomUUID(), null);
+		assertThat(window.lookup(5)).isNull();
+	}
+
+	@Test
+	void forgetLeavesANewerSequenceInTheSameSlotAlone() {
+		IngestDedupeService.SequenceWindow window = new IngestDedupeService.SequenceWindow();
+		window.record(300, UUID.randomUUID(), null);
+		window.forget(300 - 256);
+		assertThat(window.lookup(300)).isNotNull();
+	}
+
+	@Test
+	void claimBatchDropsRepeatsInsideTheBatch() {
+		FakeDedupeService dedupe = new FakeDedupeService();
+		SensorReadingBatch batch = batch("B1", 1, "B1", 2, "B1", 1, "B2", 1);
+
+		assertThat(dedupe.claimBatch(batch)).isEqualTo(1);
+		assertThat(batch.size()).isEqualTo(3);
+		assertThat(dedupe.table).containsOnlyKeys(key("B1", 1), key("B1", 2), key("B2", 1));
+	}
+
+	@Test
+	void claimBatchKeepsReadingsWithoutSequence() {
+		FakeDedupeService dedupe = new FakeDedupeService();
+		SensorReadingBatch batch = batch("B1", SensorReadingBatch.NO_SEQUENCE, "B1", SensorReadingBatch.NO_SEQUENCE);
+
+		assertThat(dedupe.claimBatch(batch)).isZero();
+		assertThat(batch.size()).isEqualTo(2);
+		assertThat(dedupe.table).isEmpty();
+	}
+
+	@Test
+	void claimBatchDropsCompletedClaimsFromTheDatabase() {
+		FakeDedupeService dedupe = new FakeDedupeService();
+		dedupe.table.put(key("B1", 1), UUID.randomUUID());
+		SensorReadingBatch batch = batch("B1", 1, "B1", 2);
+
+		assertThat(dedupe.claimBatch(batch)).isEqualTo(1);
+		assertThat(batch.size()).isEqualTo(1);
+		assertThat(batch.sequence(0)).isEqualTo(2);
+	}
+
+	@Test
+	void claimBatchDropsCompletedClaimsKnownInMemory() {
+		FakeDedupeService dedupe = new FakeDedupeService();
+		dedupe.remember("B1", 1, UUID.randomUUID(), null);
+		SensorReadingBatch batch = batch("B1", 1, "B1", 2);
+
+		assertThat(dedupe.claimBatch(batch)).isEqualTo(1);
+		assertThat(dedupe.claimCalls).isEqualTo(1);
+		assertThat(batch.sequence(0)).isEqualTo(2);
+	}
+
+	@Test
+	void claimBatchFailsOnInFlightClaimAndReleasesItsOwnClaims() {
+		FakeDedupeService dedupe = new FakeDedupeService();
+		// claimed by another node that has not stored it yet
+		dedupe.table.put(key("B1", 2), null);
+		SensorReadingBatch batch = batch("B1", 1, "B1", 2, "B1", 3);
+
+		assertThatThrownBy(() -> dedupe.claimBatch(batch)).isInstanceOf(IngestInFlightException.class);
+		assertThat(dedupe.table).containsOnlyKeys(key("B1", 2));
+
+		// once the other ingest completed, the retry only drops that reading
+		dedupe.table.put(key("B1", 2), UUID.randomUUID());
+		assertThat(dedupe.claimBatch(batch)).isEqualTo(1);
+		assertThat(batch.size()).isEqualTo(2);
+	}
+
+	@Test
+	void claimBatchFailsOnInFlightClaimKnownInMemory() {
+		FakeDedupeService dedupe = new FakeDedupeService();
+		dedupe.claimBatch(batch("B1", 1));
+		SensorReadingBatch retry = batch("B1", 2, "B1", 1);
+
+		assertThatThrownBy(() -> dedupe.claimBatch(retry)).isInstanceOf(IngestInFlightException.class);
+		assertThat(dedupe.table).containsOnlyKeys(key("B1", 1));
+	}
+
+	@Test
+	void releaseBatchGivesClaimsBack() {
+		FakeDedupeService dedupe = new FakeDedupeService();
+		SensorReadingBatch batch = batch("B1", 1, "B1", 2);
+		dedupe.claimBatch(batch);
+
+		dedupe.releaseBatch(batch);
+		assertThat(dedupe.table).isEmpty();
+		assertThat(dedupe.claimBatch(batch("B1", 1, "B1", 2))).isZero();
+	}
+
+	@Test
+	void completionIsRememberedOnlyAfterCommit() {
+		FakeDedupeService dedupe = new FakeDedupeService();
+		dedupe.claimBatch(batch("B1", 1));
+		UUID logId = UUID.randomUUID();
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			dedupe.complete("B1", 1, logId, null);
+			assertThat(dedupe.claim("B1", 1).status()).isEqualTo(IngestDedupeService.Status.IN_FLIGHT);
+
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		assertThat(dedupe.claim("B1", 1).status()).isEqualTo(IngestDedupeService.Status.DUPLICATE);
+		assertThat(dedupe.claim("B1", 1).logId()).isEqualTo(logId);
+	}
+
+	@Test
+	void rolledBackBatchCompletionIsNeverRemembered() {
+		FakeDedupeService dedupe = new FakeDedupeService();
+		SensorReadingBatch batch = batch("B1", 1, "B1", 2);
+		dedupe.claimBatch(batch);
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			dedupe.completeBatch(batch, new UUID[]{UUID.randomUUID(), UUID.randomUUID()});
+		} finally {
+			// rollback: afterCommit never runs
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		dedupe.releaseBatch(batch);
+
+		assertThat(dedupe.claimBatch(batch("B1", 1, "B1", 2))).isZero();
+	}
+
+	private static SensorReadingBatch batch(Object... bridgeAndSequence) {
+		SensorReadingBatch batch = new SensorReadingBatch();
+		for (int i = 0; i < bridgeAndSequence.length; i += 2) {
+			batch.add((String) bridgeAndSequence[i], 1, 1, 1, 1, ((Number) bridgeAndSequence[i + 1]).longValue());
+		}
+		return batch;
+	}
+
+	private static String key(String bridgeId, long sequence) {
+		return IngestDedupeService.key(bridgeId, sequence);
+	}
+
+	// ingest_sequence as a map; a null log id is a claim still in flight
+	private static final class FakeDedupeService extends IngestDedupeService {
+		final Map<String, UUID> table = new HashMap<>();
+		int claimCalls;
+
+		FakeDedupeService() {
+			super(mock(JdbcTemplate.class), 24);
+		}
+
+		@Override
+		Set<String> claimAll(String[] ids, Long[] sequences) {
+			claimCalls++;
+			Set<String> claimed = new HashSet<>();
+			for (int i = 0; i < ids.length; i++) {
+				String key = key(ids[i], sequences[i]);
+				if (!table.containsKey(key)) {
+					table.put(key, null);
+					claimed.add(key);
+				}
+			}
+			return claimed;
+		}
+
+		@Override
+		Set<String> completedAmong(String[] ids, Long[] sequences) {
+			Set<String> completed = new HashSet<>();
+			for (int i = 0; i < ids.length; i++) {
+				String key = key(ids[i], sequences[i]);
+				if (table.get(key) != null) {
+					completed.add(key);
+				}
+			}
+			return completed;
+		}
+
+		@Override
+		void releaseAll(String[] ids, Long[] sequences) {
+			for (int i = 0; i < ids.length; i++) {
+				String key = key(ids[i], sequences[i]);
+				if (table.containsKey(key) && table.get(key) == null) {
+					table.remove(key);
+				}
+			}
+		}
+	}
+}
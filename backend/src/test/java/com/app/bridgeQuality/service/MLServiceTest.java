@@ -0,0 +1,34 @@
+package com.app.bridgeQuality.service;
+
+import com.app.bridgeQuality.dto.MLBatchResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MLServiceTest {
+
+	@Test
+	void completeBatchResponsePasses() {
+		MLBatchResponseDTO response = new MLBatchResponseDTO(new int[]{90, 40},
+				new String[]{"GOOD", "POOR"}, new String[]{"none", "inspect"});
+
+		assertThatCode(() -> MLService.requireComplete(response, 2)).doesNotThrowAnyException();
+	}
+
+	@Test
+	void shortStateOrActionArrayIsRejected() {
+		MLBatchResponseDTO shortStates = new MLBatchResponseDTO(new int[]{90, 40},
+				new String[]{"GOOD"}, new String[]{"none", "inspect"});
+		MLBatchResponseDTO missingActions = new MLBatchResponseDTO(new int[]{90, 40},
+				new String[]{"GOOD", "POOR"}, null);
+
+		assertThatThrownBy(() -> MLService.requireComplete(shortStates, 2)).isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> MLService.requireComplete(missingActions, 2)).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void missingResponseIsRejected() {
+		assertThatThrownBy(() -> MLService.requireComplete(null, 1)).isInstanceOf(IllegalStateException.class);
+	}
+}
@@ -0,0 +1,109 @@
+package com.app.bridgeQuality.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PartitionTableTest {
+
+	private static final List<String> BRIDGES = IntStream.rangeClosed(1, 2000)
+			.mapToObj(i -> String.format("BRIDGE-%03d", i))
+			.toList();
+
+	@Test
+	void emptyTableHasNoOwners() {
+		assertThat(new PartitionTable(List.of()).ownerOf("BRIDGE-001")).isNull();
+	}
+
+	@Test
+	void ownershipIsDeterministicAndIndependentOfMemberOrder() {
+		List<PartitionTable.Member> members = members("a", "b", "c");
+		PartitionTable first = new PartitionTable(members);
+		PartitionTable second = new PartitionTable(members);
+		PartitionTable reversed = new PartitionTable(members.reversed());
+
+		for (String bridge : BRIDGES) {
+			assertThat(second.ownerOf(bridge)).isEqualTo(first.ownerOf(bridge));
+			assertThat(reversed.ownerOf(bridge)).isEqualTo(first.ownerOf(bridge));
+		}
+	}
+
+	@Test
+	void everyNodeOwnsAShareOfPartitions() {
+		PartitionTable table = new PartitionTable(members("a", "b", "c", "d"));
+
+		for (PartitionTable.Member member : table.members()) {
+			long owned = ownedPartitions(table, member);
+			assertThat(owned).isBetween(PartitionTable.PARTITIONS / 8L, PartitionTable.PARTITIONS / 2L);
+		}
+	}
+
+	@Test
+	void joiningNodeOnlyTakesPartitionsForItself() {
+		PartitionTable before = new PartitionTable(members("a", "b", "c"));
+		PartitionTable after = new PartitionTable(members("a", "b", "c", "d"));
+
+		int moved = 0;
+		for (int p = 0; p < PartitionTable.PARTITIONS; p++) {
+			PartitionTable.Member oldOwner = ownerOfPartition(before, p);
+			PartitionTable.Member newOwner = ownerOfPartition(after, p);
+			if (!newOwner.equals(oldOwner)) {
+				assertThat(newOwner.nodeId()).isEqualTo("d");
+				moved++;
+			}
+		}
+		// a fair share for the fourth node is a quarter; allow for hashing noise
+		assertThat(moved).isBetween(PartitionTable.PARTITIONS / 8, PartitionTable.PARTITIONS / 2);
+	}
+
+	@Test
+	void leavingNodeOnlyReleasesItsOwnPartitions() {
+		PartitionTable before = new PartitionTable(members("a", "b", "c", "d"));
+		PartitionTable after = new PartitionTable(members("a", "b", "c"));
+
+		for (int p = 0; p < PartitionTable.PARTITIONS; p++) {
+			PartitionTable.Member oldOwner = ownerOfPartition(before, p);
+			if (!oldOwner.nodeId().equals("d")) {
+				assertThat(ownerOfPartition(after, p)).isEqualTo(oldOwner);
+			}
+		}
+	}
+
+	@Test
+	void partitionOfIsStableAndInRange() {
+		for (String bridge : BRIDGES) {
+			int partition = PartitionTable.partitionOf(bridge);
+			assertThat(partition).isBetween(0, PartitionTable.PARTITIONS - 1);
+			assertThat(PartitionTable.partitionOf(bridge)).isEqualTo(partition);
+		}
+		assertThat(PartitionTable.hash("BRIDGE-001")).isNotEqualTo(PartitionTable.hash("BRIDGE-002"));
+	}
+
+	private static List<PartitionTable.Member> members(String... ids) {
+		List<PartitionTable.Member> members = new ArrayList<>();
+		for (String id : ids) {
+			members.add(new PartitionTable.Member(id, "http://" + id + ":8080"));
+		}
+		return members;
+	}
+
+	// any bridge id that hashes into the partition reveals its owner
+	private static PartitionTable.Member ownerOfPartition(PartitionTable table, int partition) {
+		for (int i = 0; ; i++) {
+			String key = "probe-" + i;
+			if (PartitionTable.partitionOf(key) == partition) {
+				return table.ownerOf(key);
+			}
+		}
+	}
+
+	private static long ownedPartitions(PartitionTable table, PartitionTable.Member member) {
+		return IntStream.range(0, PartitionTable.PARTITIONS)
+				.filter(p -> member.equals(ownerOfPartition(table, p)))
+				.count();
+	}
+}
@@ -0,0 +1,67 @@
+package com.app.bridgeQuality.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PdfTextWriterTest {
+
+	@Test
+	void emptyDocumentStillHasOnePage() throws Exception {
+		String pdf = write(0);
+
+		assertThat(pdf).contains("/Count 1 >>");
+	}
+
+	@Test
+	void longReportIsSplitAcrossPages() throws Exception {
+		// 52 lines fit on an A4 landscape page with the writer's margins and leading
+		assertThat(write(52)).contains("/Count 1 >>");
+		assertThat(write(53)).contains("/Count 2 >>");
+		assertThat(write(200)).contains("/Count 4 >>");
+	}
+
+	@Test
+	void crossReferenceOffsetsPointAtObjects() throws Exception {
+		String pdf = write(120);
+
+		Matcher startxref = Pattern.compile("startxref\n(\\d+)\n").matcher(pdf);
+		assertThat(startxref.find()).isTrue();
+		int xref = Integer.parseInt(startxref.group(1));
+		assertThat(pdf.substring(xref)).startsWith("xref\n");
+
+		Matcher entries = Pattern.compile("(\\d{10}) 00000 n ").matcher(pdf.substring(xref));
+		int object = 1;
+		while (entries.find()) {
+			int offset = Integer.parseInt(entries.group(1));
+			assertThat(pdf.substring(offset)).startsWith(object + " 0 obj\n");
+			object++;
+		}
+		assertThat(object - 1).isEqualTo(3 + 2 * 3);
+	}
+
+	@Test
+	void escapesDelimitersAndReplacesNonPrintableCharacters() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (PdfTextWriter writer = new PdfTextWriter(out)) {
+			writer.println("a(b)c\\dé\t");
+		}
+
+		assertThat(out.toString(StandardCharsets.ISO_8859_1)).contains("(a\\(b\\)c\\\\d??) Tj T*");
+	}
+
+	private static String write(int lines) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (PdfTextWriter writer = new PdfTextWriter(out)) {
+			for (int i = 0; i < lines; i++) {
+				writer.println("line " + i);
+			}
+		}
+		return out.toString(StandardCharsets.ISO_8859_1);
+	}
+}
@@ -0,0 +1,74 @@
+package com.app.bridgeQuality.service;
+
+import com.app.bridgeQuality.dto.BridgeReport;
+import com.app.bridgeQuality.entity.enums.BridgeStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportExporterTest {
+
+	private static final OffsetDateTime T0 = OffsetDateTime.of(2024, 5, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+	private final ReportExporter exporter = new ReportExporter();
+
+	@Test
+	void csvHasOneColumnPerStatusAndOneRowPerBridge() throws Exception {
+		String[] lines = csv(List.of(report("B1", "North", 80), report("B2", "South", 30)));
+
+		assertThat(lines).hasSize(3);
+		assertThat(lines[0]).contains(",seconds_excellent,", ",seconds_critical,");
+		int columns = lines[0].split(",", -1).length;
+		assertThat(lines[1].split(",", -1)).hasSize(columns);
+		assertThat(lines[1]).startsWith("B1,North,GOOD,80,");
+		assertThat(lines[2]).startsWith("B2,South,GOOD,30,");
+	}
+
+	@Test
+	void csvQuotesNamesWithSeparatorsAndLeavesNullsEmpty() throws Exception {
+		BridgeReport report = report("B1", "Main St, \"Old\" span", null);
+
+		String[] lines = csv(List.of(report));
+
+		assertThat(lines[1]).startsWith("B1,\"Main St, \"\"Old\"\" span\",GOOD,,");
+	}
+
+	@Test
+	void pdfIsWellFormedAndContainsBridgeRows() throws Exception {
+		BridgeReport report = report("B1", "North (east)", 80);
+		report.getSecondsInStatus().put(BridgeStatus.CRITICAL, 5400L);
+		report.setMaxStrainMicrostrain(123.456);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exporter.writePdf(List.of(report), T0, T0.plusDays(1), out);
+		String pdf = out.toString(StandardCharsets.ISO_8859_1);
+
+		assertThat(pdf).startsWith("%PDF-1.4").endsWith("%%EOF\n");
+		assertThat(pdf).contains("1 bridges, worst current BQI first");
+		assertThat(pdf).contains("North \\(east\\)", "123.46", "1.5");
+	}
+
+	private String[] csv(List<BridgeReport> reports) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exporter.writeCsv(reports, out);
+		return out.toString(StandardCharsets.UTF_8).split("\n");
+	}
+
+	private static BridgeReport report(String id, String name, Integer bqi) {
+		BridgeReport report = new BridgeReport();
+		report.setBridgeId(id);
+		report.setName(name);
+		report.setCurrentStatus(BridgeStatus.GOOD);
+		report.setCurrentBqi(bqi);
+		for (BridgeStatus status : BridgeStatus.values()) {
+			report.getSecondsInStatus().put(status, 0L);
+		}
+		return report;
+	}
+}
@@ -0,0 +1,153 @@
+package com.app.bridgeQuality.service;
+
+import com.app.bridgeQuality.dto.BridgeReport;
+import com.app.bridgeQuality.entity.Bridge;
+import com.app.bridgeQuality.entity.enums.BridgeStatus;
+import com.app.bridgeQuality.repository.BridgeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReportServiceTest {
+
+	private static final OffsetDateTime T0 = OffsetDateTime.of(2024, 5, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+	private final BridgeRepository repository = mock(BridgeRepository.class);
+	private final List<Bridge> bridges = new ArrayList<>();
+	private final ReportService service;
+
+	ReportServiceTest() throws Exception {
+		// every bridge history query comes back empty, only ordering and bridge fields are under test
+		ResultSet rs = mock(ResultSet.class);
+		PreparedStatement statement = mock(PreparedStatement.class);
+		when(statement.executeQuery()).thenReturn(rs);
+		Connection connection = mock(Connection.class);
+		when(connection.prepareStatement(anyString())).thenReturn(statement);
+		DataSource dataSource = mock(DataSource.class);
+		when(dataSource.getConnection()).thenReturn(connection);
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+
+		when(repository.findAll()).thenReturn(bridges);
+		service = new ReportService(repository, dataSource, transactionManager, 2, 100);
+	}
+
+	@AfterEach
+	void shutdown() {
+		service.shutdown();
+	}
+
+	@Test
+	void fleetReportListsWorstBqiFirstAndUnscoredLast() {
+		bridges.add(bridge("B1", 80));
+		bridges.add(bridge("B2", null));
+		bridges.add(bridge("B3", 20));
+		bridges.add(bridge("B4", 50));
+
+		List<BridgeReport> reports = service.buildFleetReport(T0, T0.plusDays(1));
+
+		assertThat(reports).extracting(BridgeReport::getBridgeId).containsExactly("B3", "B4", "B1", "B2");
+	}
+
+	@Test
+	void equalBqiIsOrderedByBridgeId() {
+		bridges.add(bridge("B9", 40));
+		bridges.add(bridge("B1", 40));
+
+		List<BridgeReport> reports = service.buildFleetReport(T0, T0.plusDays(1));
+
+		assertThat(reports).extracting(BridgeReport::getBridgeId).containsExactly("B1", "B9");
+	}
+
+	@Test
+	void emptyOrReversedRangeIsRejected() {
+		assertThatThrownBy(() -> service.buildFleetReport(T0, T0)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> service.buildFleetReport(T0.plusHours(1), T0)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void accumulatorTracksRangesAndTrend() {
+		ReportService.Accumulator acc = new ReportService.Accumulator();
+		acc.add(T0, 100, 0.5, 10, 60, 70, "GOOD");
+		acc.add(T0.plusMinutes(1), 300, 0.1, 15, 40, null, null);
+		acc.add(T0.plusMinutes(2), 200, 0.9, 5, 80, 40, "POOR");
+
+		BridgeReport report = acc.toReport(bridge("B1", 40), T0.plusMinutes(2));
+
+		assertThat(report.getReadings()).isEqualTo(3);
+		assertThat(report.getMinStrainMicrostrain()).isEqualTo(100);
+		assertThat(report.getMaxStrainMicrostrain()).isEqualTo(300);
+		assertThat(report.getMinVibrationMs2()).isEqualTo(0.1);
+		assertThat(report.getMaxVibrationMs2()).isEqualTo(0.9);
+		assertThat(report.getMinTemperatureC()).isEqualTo(5);
+		assertThat(report.getMaxHumidityPercent()).isEqualTo(80);
+		assertThat(report.getFirstBqi()).isEqualTo(70);
+		assertThat(report.getLastBqi()).isEqualTo(40);
+		assertThat(report.getMinBqi()).isEqualTo(40);
+		assertThat(report.getAvgBqi()).isEqualTo(55.0);
+		assertThat(report.getBqiTrend()).isEqualTo(-30);
+	}
+
+	@Test
+	void statusHoldsUntilNextScoredReadingAndWindowEnd() {
+		ReportService.Accumulator acc = new ReportService.Accumulator();
+		acc.add(T0, 1, 1, 1, 1, 70, "GOOD");
+		// unscored reading does not end the GOOD interval
+		acc.add(T0.plusSeconds(30), 1, 1, 1, 1, null, null);
+		acc.add(T0.plusSeconds(60), 1, 1, 1, 1, 10, "CRITICAL");
+
+		BridgeReport report = acc.toReport(bridge("B1", 10), T0.plusSeconds(150));
+
+		assertThat(report.getSecondsInStatus())
+				.containsEntry(BridgeStatus.GOOD, 60L)
+				.containsEntry(BridgeStatus.CRITICAL, 90L)
+				.containsEntry(BridgeStatus.POOR, 0L);
+	}
+
+	@Test
+	void readingAfterWindowEndAddsNoNegativeTime() {
+		ReportService.Accumulator acc = new ReportService.Accumulator();
+		acc.add(T0.plusSeconds(60), 1, 1, 1, 1, 70, "GOOD");
+
+		BridgeReport report = acc.toReport(bridge("B1", 70), T0);
+
+		assertThat(report.getSecondsInStatus()).containsEntry(BridgeStatus.GOOD, 0L);
+	}
+
+	@Test
+	void emptyWindowLeavesAggregatesUnset() {
+		BridgeReport report = new ReportService.Accumulator().toReport(bridge("B1", 70), T0);
+
+		assertThat(report.getReadings()).isZero();
+		assertThat(report.getAvgBqi()).isNull();
+		assertThat(report.getBqiTrend()).isNull();
+		assertThat(report.getMaxStrainMicrostrain()).isNull();
+		assertThat(report.getCurrentBqi()).isEqualTo(70);
+	}
+
+	private static Bridge bridge(String id, Integer bqi) {
+		Bridge bridge = new Bridge();
+		bridge.setId(id);
+		bridge.setName(id);
+		bridge.setStatus(BridgeStatus.GOOD);
+		bridge.setBqi(bqi);
+		return bridge;
+	}
+}
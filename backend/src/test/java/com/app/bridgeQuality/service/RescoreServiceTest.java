@@ -0,0 +1,102 @@
+package com.app.bridgeQuality.service;
+
+import com.app.bridgeQuality.dto.RescoreStatusResponse;
+import com.app.bridgeQuality.entity.enums.RescoreJobStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RescoreServiceTest {
+
+	private static final OffsetDateTime UPTO = OffsetDateTime.of(2024, 5, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	private final RescoreService service =
+			new RescoreService(jdbcTemplate, new MLService("v2"), new SimpleMeterRegistry(), 100, 2, 0);
+
+	@Test
+	void checkpointOnlyAdvancesOverContiguousFinishedPages() {
+		RescoreService.Run run = new RescoreService.Run(1, "v2", UPTO, null, 0, 300);
+		run.pageStarted(0, cursor(1), 100);
+		run.pageStarted(1, cursor(2), 100);
+		run.pageStarted(2, cursor(3), 100);
+
+		// later pages finish first, nothing before them is done yet
+		assertThat(run.pageDone(2)).isEmpty();
+		assertThat(run.pageDone(1)).isEmpty();
+
+		Optional<RescoreService.Checkpoint> checkpoint = run.pageDone(0);
+		assertThat(checkpoint).isPresent();
+		assertThat(checkpoint.get().cursor()).isEqualTo(cursor(3));
+		assertThat(checkpoint.get().processed()).isEqualTo(300);
+	}
+
+	@Test
+	void resumedRunCountsOnFromItsCheckpoint() {
+		RescoreService.Run run = new RescoreService.Run(1, "v2", UPTO, cursor(5), 500, 700);
+		run.pageStarted(0, cursor(6), 100);
+		run.pageStarted(1, cursor(7), 80);
+
+		assertThat(run.pageDone(0)).map(RescoreService.Checkpoint::processed).contains(600L);
+		assertThat(run.pageDone(1)).map(RescoreService.Checkpoint::cursor).contains(cursor(7));
+	}
+
+	@Test
+	void throttleSpacesDispatchesAtTheConfiguredRate() {
+		long started = 1_000_000L;
+		// 1000 rows at 500 rows/s are due two seconds after the start
+		assertThat(RescoreService.throttleDelayNanos(started, 1000, 500, started))
+				.isEqualTo(TimeUnit.SECONDS.toNanos(2));
+		assertThat(RescoreService.throttleDelayNanos(started, 1000, 500, started + TimeUnit.SECONDS.toNanos(1)))
+				.isEqualTo(TimeUnit.SECONDS.toNanos(1));
+		// running behind the rate never waits
+		assertThat(RescoreService.throttleDelayNanos(started, 1000, 500, started + TimeUnit.SECONDS.toNanos(3)))
+				.isZero();
+	}
+
+	@Test
+	void startUsesTheServedModelVersionAndCreatesAJob() {
+		when(jdbcTemplate.queryForObject(contains("INSERT INTO rescore_job"), eq(Long.class), eq("v2")))
+				.thenReturn(9L);
+
+		// claiming fails, as when another node runs the job
+		assertThatThrownBy(service::start)
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("job 9")
+				.hasMessageContaining("another node");
+		verify(jdbcTemplate).update(contains("SET status = 'RUNNING'"), eq(9L));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void startResumesTheVersionsUnfinishedJob() {
+		RescoreStatusResponse unfinished = new RescoreStatusResponse(7, "v2", RescoreJobStatus.PAUSED, 300, 1000,
+				UPTO, UPTO, null);
+		when(jdbcTemplate.query(contains("status <> 'DONE'"), any(RowMapper.class), eq("v2")))
+				.thenReturn(List.of(unfinished));
+
+		assertThatThrownBy(service::start).hasMessageContaining("job 7");
+		verify(jdbcTemplate).update(contains("SET status = 'RUNNING'"), eq(7L));
+	}
+
+	private static RescoreService.Cursor cursor(int n) {
+		return new RescoreService.Cursor(UPTO.minusDays(10 - n), new UUID(0, n));
+	}
+}
@@ -0,0 +1,128 @@
+package com.app.bridgeQuality.service;
+
+import com.app.bridgeQuality.dto.SensorReadingBatch;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SensorBatchParserTest {
+
+	private final SensorBatchParser parser = new SensorBatchParser();
+	private final SensorReadingBatch batch = new SensorReadingBatch();
+
+	@Test
+	void parsesSingleReading() {
+		parse("""
+				{"bridgeId":"BRIDGE-001","strainMicrostrain":120.5,"vibrationMs2":0.8,
+				 "temperatureC":21,"humidityPercent":55.0}""", 10);
+
+		assertThat(batch.size()).isEqualTo(1);
+		assertThat(batch.bridgeId(0)).isEqualTo("BRIDGE-001");
+		assertThat(batch.strainMicrostrain(0)).isEqualTo(120.5);
+		assertThat(batch.vibrationMs2(0)).isEqualTo(0.8);
+		assertThat(batch.temperatureC(0)).isEqualTo(21.0);
+		assertThat(batch.humidityPercent(0)).isEqualTo(55.0);
+		assertThat(batch.hasSequence(0)).isFalse();
+	}
+
+	@Test
+	void parsesArrayOfReadingsInOrder() {
+		parse("[" + reading("BRIDGE-001", 1) + "," + reading("BRIDGE-002", 2) + "," + reading("BRIDGE-001", 3) + "]", 10);
+
+		assertThat(batch.size()).isEqualTo(3);
+		assertThat(batch.bridgeId(1)).isEqualTo("BRIDGE-002");
+		assertThat(batch.strainMicrostrain(2)).isEqualTo(3);
+		// repeated ids come back as the same String
+		assertThat(batch.bridgeId(2)).isSameAs(batch.bridgeId(0));
+	}
+
+	@Test
+	void parsesEmptyArray() {
+		parse("[]", 10);
+
+		assertThat(batch.size()).isZero();
+	}
+
+	@Test
+	void readsSequenceAndSkipsUnknownFields() {
+		parse("""
+				[{"bridgeId":"BRIDGE-001","sequence":42,"extra":{"nested":[1,2]},
+				  "strainMicrostrain":1,"vibrationMs2":2,"temperatureC":3,"humidityPercent":4},
+				 {"bridgeId":"BRIDGE-001","sequence":null,
+				  "strainMicrostrain":1,"vibrationMs2":2,"temperatureC":3,"humidityPercent":4}]""", 10);
+
+		assertThat(batch.sequence(0)).isEqualTo(42);
+		assertThat(batch.hasSequence(1)).isFalse();
+	}
+
+	@Test
+	void rejectsMissingSensorField() {
+		assertThatThrownBy(() -> parse("""
+				{"bridgeId":"BRIDGE-001","strainMicrostrain":1,"vibrationMs2":2,"temperatureC":3}""", 10))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("BRIDGE-001");
+	}
+
+	@Test
+	void rejectsMissingOrNullBridgeId() {
+		assertThatThrownBy(() -> parse("""
+				{"strainMicrostrain":1,"vibrationMs2":2,"temperatureC":3,"humidityPercent":4}""", 10))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("bridgeId must not be null");
+		assertThatThrownBy(() -> parse("""
+				{"bridgeId":null,"strainMicrostrain":1,"vibrationMs2":2,"temperatureC":3,"humidityPercent":4}""", 10))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void rejectsNonNumericReading() {
+		assertThatThrownBy(() -> parse("""
+				{"bridgeId":"BRIDGE-001","strainMicrostrain":"high","vibrationMs2":2,"temperatureC":3,"humidityPercent":4}""", 10))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("strainMicrostrain must be a number");
+	}
+
+	@Test
+	void rejectsFractionalSequence() {
+		assertThatThrownBy(() -> parse("""
+				{"bridgeId":"BRIDGE-001","sequence":1.5,"strainMicrostrain":1,"vibrationMs2":2,"temperatureC":3,"humidityPercent":4}""", 10))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void acceptsExactlyMaxReadings() {
+		parse("[" + reading("BRIDGE-001", 1) + "," + reading("BRIDGE-001", 2) + "]", 2);
+
+		assertThat(batch.size()).isEqualTo(2);
+	}
+
+	@Test
+	void rejectsMoreThanMaxReadings() {
+		assertThatThrownBy(() -> parse("[" + reading("BRIDGE-001", 1) + "," + reading("BRIDGE-001", 2) + ","
+				+ reading("BRIDGE-001", 3) + "]", 2))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Batch exceeds 2 readings");
+	}
+
+	@Test
+	void rejectsBodyThatIsNeitherReadingNorArray() {
+		assertThatThrownBy(() -> parse("42", 10))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> parse("[" + reading("BRIDGE-001", 1) + ", 7]", 10))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Expected an array of readings");
+	}
+
+	private void parse(String json, int maxReadings) {
+		parser.parse(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), batch, maxReadings);
+	}
+
+	private static String reading(String bridgeId, double strain) {
+		return "{\"bridgeId\":\"" + bridgeId + "\",\"strainMicrostrain\":" + strain
+				+ ",\"vibrationMs2\":0.5,\"temperatureC\":20,\"humidityPercent\":50}";
+	}
+}
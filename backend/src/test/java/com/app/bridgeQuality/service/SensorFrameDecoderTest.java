@@ -0,0 +1,158 @@
+package com.app.bridgeQuality.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SensorFrameDecoderTest {
+
+	private final SensorFrameDecoder decoder = new SensorFrameDecoder();
+
+	@Test
+	void decodesCompleteFrame() {
+		ByteBuffer buffer = frames(frame("BRIDGE-001", 1_700_000_000_000L, 120.5, 0.8, 21.0, 55.0));
+
+		int frameLength = SensorFrameDecoder.completeFrameLength(buffer);
+		SensorFrameDecoder.SensorFrame frame = decoder.decode(buffer, frameLength);
+
+		assertThat(frame.bridgeId()).isEqualTo("BRIDGE-001");
+		assertThat(frame.recordedAt())
+				.isEqualTo(OffsetDateTime.of(2023, 11, 14, 22, 13, 20, 0, ZoneOffset.UTC));
+		assertThat(frame.strainMicrostrain()).isEqualTo(120.5);
+		assertThat(frame.vibrationMs2()).isEqualTo(0.8);
+		assertThat(frame.temperatureC()).isEqualTo(21.0);
+		assertThat(frame.humidityPercent()).isEqualTo(55.0);
+		assertThat(buffer.hasRemaining()).isFalse();
+	}
+
+	@Test
+	void zeroTimestampMeansServerTime() {
+		ByteBuffer buffer = frames(frame("BRIDGE-001", 0, 1, 2, 3, 4));
+
+		SensorFrameDecoder.SensorFrame frame = decoder.decode(buffer, SensorFrameDecoder.completeFrameLength(buffer));
+
+		assertThat(frame.recordedAt()).isNull();
+	}
+
+	@Test
+	void decodesConsecutiveFramesAndReusesBridgeIds() {
+		ByteBuffer buffer = frames(frame("BRIDGE-007", 0, 1, 2, 3, 4), frame("BRIDGE-007", 0, 5, 6, 7, 8));
+
+		SensorFrameDecoder.SensorFrame first = decoder.decode(buffer, SensorFrameDecoder.completeFrameLength(buffer));
+		SensorFrameDecoder.SensorFrame second = decoder.decode(buffer, SensorFrameDecoder.completeFrameLength(buffer));
+
+		assertThat(second.strainMicrostrain()).isEqualTo(5);
+		assertThat(second.bridgeId()).isSameAs(first.bridgeId());
+		assertThat(SensorFrameDecoder.completeFrameLength(buffer)).isEqualTo(-1);
+	}
+
+	@Test
+	void partialFrameIsNotReadyAndNotConsumed() {
+		byte[] whole = frame("BRIDGE-001", 0, 1, 2, 3, 4);
+		ByteBuffer prefixOnly = ByteBuffer.wrap(whole, 0, 3);
+		ByteBuffer truncated = ByteBuffer.wrap(whole, 0, whole.length - 1);
+
+		assertThat(SensorFrameDecoder.completeFrameLength(prefixOnly)).isEqualTo(-1);
+		assertThat(SensorFrameDecoder.completeFrameLength(truncated)).isEqualTo(-1);
+		assertThat(truncated.position()).isZero();
+	}
+
+	@Test
+	void rejectsLengthBelowMinimum() {
+		ByteBuffer buffer = ByteBuffer.allocate(64).putInt(SensorFrameDecoder.MIN_FRAME - 1).flip();
+
+		assertThatThrownBy(() -> SensorFrameDecoder.completeFrameLength(buffer))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("bad frame length");
+	}
+
+	@Test
+	void rejectsLengthAboveMaximum() {
+		ByteBuffer buffer = ByteBuffer.allocate(4).putInt(SensorFrameDecoder.MAX_FRAME + 1).flip();
+
+		assertThatThrownBy(() -> SensorFrameDecoder.completeFrameLength(buffer))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void rejectsIdLengthDisagreeingWithFrameLength() {
+		byte[] bytes = frame("BRIDGE-001", 0, 1, 2, 3, 4);
+		bytes[Integer.BYTES] = 3;
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+		assertThatThrownBy(() -> decoder.decode(buffer, SensorFrameDecoder.completeFrameLength(buffer)))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("malformed frame");
+	}
+
+	@Test
+	void rejectsEmptyBridgeId() {
+		byte[] bytes = frame("", 0, 1, 2, 3, 4);
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+		assertThatThrownBy(() -> decoder.decode(buffer, bytes.length - Integer.BYTES))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void futureTimestampIsClampedToNow() {
+		Instant now = Instant.parse("2024-05-01T12:00:00Z");
+		SensorFrameDecoder clocked = new SensorFrameDecoder(Clock.fixed(now, ZoneOffset.UTC));
+		ByteBuffer buffer = frames(
+				frame("BRIDGE-001", now.plusSeconds(3600).toEpochMilli(), 1, 2, 3, 4),
+				frame("BRIDGE-001", Long.MAX_VALUE / 2, 1, 2, 3, 4));
+
+		SensorFrameDecoder.SensorFrame ahead = clocked.decode(buffer, SensorFrameDecoder.completeFrameLength(buffer));
+		SensorFrameDecoder.SensorFrame garbage = clocked.decode(buffer, SensorFrameDecoder.completeFrameLength(buffer));
+
+		assertThat(ahead.recordedAt().toInstant()).isEqualTo(now);
+		assertThat(garbage.recordedAt().toInstant()).isEqualTo(now);
+	}
+
+	@Test
+	void smallClockSkewIsKept() {
+		Instant now = Instant.parse("2024-05-01T12:00:00Z");
+		SensorFrameDecoder clocked = new SensorFrameDecoder(Clock.fixed(now, ZoneOffset.UTC));
+		ByteBuffer buffer = frames(frame("BRIDGE-001", now.plusMillis(1500).toEpochMilli(), 1, 2, 3, 4));
+
+		SensorFrameDecoder.SensorFrame frame = clocked.decode(buffer, SensorFrameDecoder.completeFrameLength(buffer));
+
+		assertThat(frame.recordedAt().toInstant()).isEqualTo(now.plusMillis(1500));
+	}
+
+	private static byte[] frame(String bridgeId, long timestamp,
+								double strain, double vibration, double temperature, double humidity) {
+		byte[] id = bridgeId.getBytes(StandardCharsets.US_ASCII);
+		int frameLength = 1 + id.length + Long.BYTES + 4 * Double.BYTES;
+		ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + frameLength)
+				.putInt(frameLength)
+				.put((byte) id.length)
+				.put(id)
+				.putLong(timestamp)
+				.putDouble(strain)
+				.putDouble(vibration)
+				.putDouble(temperature)
+				.putDouble(humidity);
+		return buffer.array();
+	}
+
+	private static ByteBuffer frames(byte[]... frames) {
+		int size = 0;
+		for (byte[] frame : frames) {
+			size += frame.length;
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(size);
+		for (byte[] frame : frames) {
+			buffer.put(frame);
+		}
+		return buffer.flip();
+	}
+}
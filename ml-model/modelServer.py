@@ -38,5 +38,22 @@ def predict():
         "recommendedAction": ""
     })
 
+@app.route("/predict/batch", methods=["POST"])
+def predictBatch():
+    # columnar body: one list per feature, same keys as /predict
+    data = request.get_json()
+
+    df = pd.DataFrame(data)
+
+    predictions = model_pipeline.predict(df)
+
+    bqis = [float(prediction) * 100 for prediction in predictions]
+
+    return jsonify({
+        "healthIndex": bqis,
+        "healthState": [sendHealthStatus(bqi) for bqi in bqis],
+        "recommendedAction": ["" for _ in bqis]
+    })
+
 if __name__ == "__main__":
     app.run(port=5000, debug=True)